@@ -0,0 +1,107 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.nio.charset.StandardCharsets;
+
+
+/** A character sequence backed by a range of bytes in an array, each byte read as an ISO 8859-1
+  * character.  This is correct for ASCII text, such as the ASCII content of a UTF-8 document.  The
+  * sequence may be {@linkplain #reset(byte[],int,int) reset} to a new range for reuse, which spares
+  * the allocation of a string for each piece of text that is parsed.  Modification of the backing array
+  * will affect the sequence.
+  */
+public final class CharSequenceOnBytes implements CharSequence
+{
+
+
+    /** Constructs a CharSequenceOnBytes of zero length.
+      */
+    public CharSequenceOnBytes() {}
+
+
+
+    /** Constructs a CharSequenceOnBytes.
+      *
+      *     @see #reset(byte[],int,int)
+      */
+    public CharSequenceOnBytes( final byte[] bytes, final int start, final int end )
+    {
+        reset( bytes, start, end );
+    }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Resets this sequence to a new range of bytes.
+      *
+      *     @param start The index of the first byte of the range.
+      *     @param end The end bound of the range (index of last+1).
+      *     @return This sequence.
+      *     @throws IndexOutOfBoundsException if the range falls outside of the array.
+      */
+    public CharSequenceOnBytes reset( final byte[] bytes, final int start, final int end )
+    {
+        if( start < 0 || end > bytes.length || start > end ) throw new IndexOutOfBoundsException();
+
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+
+
+   // - C h a r - S e q u e n c e ----------------------------------------------------------------------
+
+
+    public char charAt( final int c )
+    {
+        if( c < 0 || c >= end - start ) throw new IndexOutOfBoundsException( String.valueOf( c ));
+
+        return (char)(bytes[start+c] & 0xff);
+    }
+
+
+
+    public int length() { return end - start; }
+
+
+
+    public CharSequence subSequence( final int cStart, final int cEnd )
+    {
+        if( cStart < 0 || cEnd > end - start || cStart > cEnd ) throw new IndexOutOfBoundsException();
+
+        return new CharSequenceOnBytes( bytes, start + cStart, start + cEnd );
+    }
+
+
+
+   // - O b j e c t ------------------------------------------------------------------------------------
+
+
+    public @Override String toString()
+    {
+        return new String( bytes, start, end - start, StandardCharsets.ISO_8859_1 );
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private byte[] bytes = EMPTY_BYTES;
+
+
+        private static final byte[] EMPTY_BYTES = new byte[0];
+
+
+
+    private int end;
+
+
+
+    private int start;
+
+
+}
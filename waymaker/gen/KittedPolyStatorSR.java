@@ -1,6 +1,5 @@
 package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import java.util.*;
 
 import static java.lang.Boolean.TRUE;
@@ -78,7 +77,7 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
 
     /** Returns the component stator at the given index.  This method is used for assertions of order
-      * during {@linkplain #startCtorRestore(Object,Parcel,Object) CtorRestore} that depend on identity
+      * during {@linkplain #startCtorRestore(Object,StateIn,Object) CtorRestore} that depend on identity
       * tests alone, hence the general return type.
       */
     public final Object get( final int s ) { return stators.get( s ); }
@@ -89,7 +88,7 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
       * the ordinary, restoring type.  Any trailing part is reserved for CtorRestore state savers.
       *
       *     @see #size()
-      *     @see #startCtorRestore(Object,Parcel,Object)
+      *     @see #startCtorRestore(Object,StateIn,Object)
       */
     public final int leaderSize() { return leaderSize; }
 
@@ -133,12 +132,12 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
 
 
-    /** {@linkplain #save(Object,Parcel,Object) Saves state} from the thing with efficient handling for a
+    /** {@linkplain #save(Object,StateOut,Object) Saves state} from the thing with efficient handling for a
       * frequent default instance.  The thing is considered at default if <code>th == thDefault</code>.
       * Restoration requires a call to a factory method such as <code>T.makeD( in, kit, thDefault )</code>.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public final void saveD( final T th, final Parcel out, final S kit, final T thDefault )
+    public final void saveD( final T th, final StateOut out, final S kit, final T thDefault )
     {
       // 1. Is default?
       // - - - - - - - -
@@ -154,8 +153,8 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
     /** Removes the facility to add new component stators to this poly-stator, freeing its memory.
       * Generally you should seal a poly-stator before using it.  Accordingly the {@linkplain
-      * #save(Object,Parcel,Object) save} method checks the seal with an assert statement.  (The
-      * {@linkplain KittedStatorSR#restore(Object,Parcel,Object) restore} method makes no such check,
+      * #save(Object,StateOut,Object) save} method checks the seal with an assert statement.  (The
+      * {@linkplain KittedStatorSR#restore(Object,StateIn,Object) restore} method makes no such check,
       * thus allowing for CtorRestore; q.v. by grep in source.)
       */
     public final void seal()
@@ -184,7 +183,7 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
 
     /** Partly restores state to the thing by calling
-      * st.{@linkplain KittedStatorSR#restore(Object,Parcel,Object) restore}
+      * st.{@linkplain KittedStatorSR#restore(Object,StateIn,Object) restore}
       * for each component st in the leading part of this poly-stator.
       * The stators of the trailing part are mere {@linkplain StateSaver state savers}, unable to
       * restore state.  Their state should instead be restored by the caller after the call.  Usually
@@ -196,7 +195,7 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
       *       is {@linkplain #openToThread() unopen} to the calling thread.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public final int startCtorRestore( final T th, final Parcel in, final R kit )
+    public final int startCtorRestore( final T th, final StateIn in, final R kit )
     {
         restore( th, in, kit, leaderSize );
         return leaderSize;
@@ -208,14 +207,14 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
 
     /** Saves state from the thing by calling
-      * st.{@linkplain KittedStatorSR#save(Object,Parcel,Object) save}
+      * st.{@linkplain KittedStatorSR#save(Object,StateOut,Object) save}
       * for each component st of this poly-stator.
       *
       *     @throws AssertionError if assertions are enabled and this poly-stator is still unsealed, or
       *       is {@linkplain #openToThread() unopen} to the calling thread.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public final void save( final T th, final Parcel out, final S kit )
+    public final void save( final T th, final StateOut out, final S kit )
     {
         assert stators.getClass().equals(ListOnArray.class) && isOpenToThread(): "Sealed and openToThread";
         for( KittedStatorSR<? super T, ? super S, ? super R> st: stators ) st.save( th, out, kit );
@@ -224,14 +223,14 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
 
     /** Restores state to the thing by calling
-      * st.{@linkplain KittedStatorSR#restore(Object,Parcel,Object) restore}
+      * st.{@linkplain KittedStatorSR#restore(Object,StateIn,Object) restore}
       * for each component st of this poly-stator.
       *
       *     @throws AssertionError if assertions are enabled and this poly-stator is still unsealed, or
       *       is {@linkplain #openToThread() unopen} to the calling thread.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public final void restore( final T th, final Parcel in, final R kit ) { restore( th, in, kit, size() ); }
+    public final void restore( final T th, final StateIn in, final R kit ) { restore( th, in, kit, size() ); }
 
 
 
@@ -239,7 +238,7 @@ public class KittedPolyStatorSR<T,S,R> implements KittedStatorSR<T,S,R>
 
 
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    private void restore( final T th, final Parcel in, final R kit, final int sN )
+    private void restore( final T th, final StateIn in, final R kit, final int sN )
     {
         assert stators.getClass().equals(ListOnArray.class) && isOpenToThread(): "Sealed and openToThread";
         for( int s = 0; s < sN; ++s )
@@ -1,9 +1,20 @@
 package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
-
 
 /** A {@linkplain Stator stator} that depends on additional kit during both saving and restoration.
+  * State is written out to a {@linkplain StateOut StateOut} and read in from a {@linkplain StateIn
+  * StateIn}, either of which may be backed by a parcel or a byte buffer.
+  *
+  * <h3 id='Deferral'>Deferral of nested calls</h3>
+  *
+  * <p>A stator may be called for one thing while it is yet saving or restoring another, as when a
+  * node saves its upstream voters.  Rather than recurse, the stator may defer the work of such a
+  * nested call to the outermost call on the thread, returning at once without writing or reading
+  * anything.  The deferred state then follows in the stream after the whole state of the outer thing,
+  * including that of any later stator of the same thing.  A stator that defers must do so alike in
+  * both save and restore, so that restoration reads the stream in the order it was written; and no
+  * later stator of the thing may depend on the deferred state, which is not yet restored when that
+  * stator runs.  The voters stators of UnadjustedNodeV and PrecountNode are of this kind.</p>
   *
   *     @param <T> The type of thing for which state is persisted.
   *     @param <S> The type of saving kit.
@@ -19,15 +30,17 @@ public interface KittedStatorSR<T,S,R>
    // - K i t t e d - S t a t o r - S - R --------------------------------------------------------------
 
 
-    /** Saves state from the thing, writing out to the parcel.
+    /** Saves state from the thing, writing it out.  A nested call may instead defer the saving, as
+      * described under <a href='#Deferral'>Deferral</a>.
       */
-    public void save( T th, Parcel out, S kit );
+    public void save( T th, StateOut out, S kit );
 
 
 
-    /** Restores state to the thing, reading in from the parcel.
+    /** Restores state to the thing, reading it in.  A nested call may instead defer the restoring,
+      * as described under <a href='#Deferral'>Deferral</a>.
       */
-    public void restore( T th, Parcel in, R kit );
+    public void restore( T th, StateIn in, R kit );
 
 
 }
@@ -12,6 +12,21 @@ public @ThreadSafe final class MathX
 
 
 
+    /** Returns a thorough mix of the bits of h, such that a change in any bit of h is likely to change
+      * about half the bits of the result.  This is the finalizer of MurmurHash3.
+      */
+    public static long mix( long h )
+    {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+
+
     /** Answers whether two numbers have the same sign; both being negative, or neither being negative.
       */
     public static boolean signsAgree( final int x, final int y ) { return (x ^ y) >= 0;  }
@@ -0,0 +1,312 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.util.*;
+
+
+/** A hash map of open addressing and linear probing, more compact than a {@linkplain HashMap HashMap}.
+  * It stores its keys and values side by side in a single array, sparing the memory of an entry object
+  * for each mapping.  It permits null values and a null key, the latter held apart from the table.  The
+  * key classes ought to cache their hash codes, as a lookup calls hashCode on the key every time.
+  * Iterators do not support removal.
+  */
+public final class OpenHashMap<K,V> extends AbstractMap<K,V>
+{
+
+
+    /** Constructs an OpenHashMap.
+      *
+      *     @param expectedMaximumSize The number of mappings that the map may hold without a resize.
+      */
+    public OpenHashMap( final int expectedMaximumSize )
+    {
+        int capacity = MIN_CAPACITY;
+        while( capacity * MAX_LOAD_NUMERATOR / MAX_LOAD_DENOMINATOR < expectedMaximumSize ) capacity *= 2;
+        table = new Object[capacity*2];
+    }
+
+
+
+   // - M a p ------------------------------------------------------------------------------------------
+
+
+    public @Override void clear()
+    {
+        Arrays.fill( table, null );
+        hasNullKey = false;
+        nullKeyValue = null;
+        size = 0;
+    }
+
+
+
+    public @Override boolean containsKey( final Object key )
+    {
+        if( key == null ) return hasNullKey;
+
+        return table[slot(key)] != null;
+    }
+
+
+
+    public @Override Set<Map.Entry<K,V>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<K,V>>()
+        {
+            public Iterator<Map.Entry<K,V>> iterator()
+            {
+                return new TableIterator<Map.Entry<K,V>>()
+                {
+                    Map.Entry<K,V> element( final K key, final V value )
+                    {
+                        return new AbstractMap.SimpleImmutableEntry<>( key, value );
+                    }
+                };
+            }
+            public int size() { return size; }
+        };
+    }
+
+
+
+    public @Override @SuppressWarnings("unchecked") V get( final Object key )
+    {
+        if( key == null ) return nullKeyValue; // null if unmapped
+
+        return (V)table[slot(key)+1]; // null if slot is empty
+    }
+
+
+
+    public @Override @SuppressWarnings("unchecked") V put( final K key, final V value )
+    {
+        if( key == null )
+        {
+            final V old = nullKeyValue;
+            nullKeyValue = value;
+            if( !hasNullKey )
+            {
+                hasNullKey = true;
+                ++size;
+            }
+            return old;
+        }
+
+        int s = slot( key );
+        if( table[s] != null ) // already mapped
+        {
+            final V old = (V)table[s+1];
+            table[s+1] = value;
+            return old;
+        }
+
+        if( tableSize() >= table.length / 2 * MAX_LOAD_NUMERATOR / MAX_LOAD_DENOMINATOR )
+        {
+            resize( table.length * 2 );
+            s = slot( key );
+        }
+        table[s] = key;
+        table[s+1] = value;
+        ++size;
+        return null;
+    }
+
+
+
+    public @Override @SuppressWarnings("unchecked") V remove( final Object key )
+    {
+        if( key == null )
+        {
+            final V old = nullKeyValue;
+            if( hasNullKey )
+            {
+                hasNullKey = false;
+                nullKeyValue = null;
+                --size;
+            }
+            return old;
+        }
+
+        int s = slot( key );
+        if( table[s] == null ) return null; // no mapping
+
+        final V old = (V)table[s+1];
+        final int mask = table.length - 1;
+        for( int t = s;; ) // shift back any later key of the same probe run, so leaving no hole in it
+        {
+            table[s] = null;
+            table[s+1] = null;
+            for( ;; )
+            {
+                t = (t + 2) & mask;
+                final Object k = table[t];
+                if( k == null )
+                {
+                    --size;
+                    return old;
+                }
+
+                final int home = home( k );
+                if( s <= t? (home <= s || home > t): (home <= s && home > t) ) break; // may move to s
+            }
+            table[s] = table[t];
+            table[s+1] = table[t+1];
+            s = t;
+        }
+    }
+
+
+
+    public @Override int size() { return size; }
+
+
+
+    public @Override Collection<V> values()
+    {
+        return new AbstractCollection<V>()
+        {
+            public Iterator<V> iterator()
+            {
+                return new TableIterator<V>()
+                {
+                    V element( final K key, final V value ) { return value; }
+                };
+            }
+            public int size() { return size; }
+        };
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private boolean hasNullKey; // whether the null key is mapped, apart from the table
+
+
+
+    /** Returns the index in the table of the home slot of the given key, where a probe for it begins.
+      */
+    private int home( final Object key )
+    {
+        final int h = key.hashCode() * 0x9E3779B9; // spreading the bits (Fibonacci hashing)
+        return ((h ^ (h >>> 16)) << 1) & (table.length - 1);
+    }
+
+
+
+    private static final int MAX_LOAD_DENOMINATOR = 4;
+
+    private static final int MAX_LOAD_NUMERATOR = 3; // maximum ratio of size to capacity
+
+
+
+    private static final int MIN_CAPACITY = 8; // in slots, each of a key and value
+
+
+
+    private V nullKeyValue; // mapped to the null key, or null if none
+
+
+
+    private void resize( final int length )
+    {
+        final Object[] oldTable = table;
+        table = new Object[length];
+        for( int s = 0; s < oldTable.length; s += 2 )
+        {
+            final Object key = oldTable[s];
+            if( key == null ) continue;
+
+            final int t = slot( key );
+            table[t] = key;
+            table[t+1] = oldTable[s+1];
+        }
+    }
+
+
+
+    private int size; // including any mapping of the null key
+
+
+
+    /** Returns the index in the table of the slot that holds the given key, or of the empty slot at
+      * which the probe for it ended.
+      *
+      *     @throws NullPointerException if the key is null, which is never in the table.
+      */
+    private int slot( final Object key )
+    {
+        final int mask = table.length - 1;
+        for( int s = home( key );; s = (s + 2) & mask )
+        {
+            final Object k = table[s];
+            if( k == null || k == key || k.equals(key) ) return s;
+        }
+    }
+
+
+
+    private Object[] table; // of key/value pairs, length twice the capacity, a power of two
+
+
+
+    private int tableSize() { return hasNullKey? size - 1: size; } // count of mappings in the table
+
+
+
+   // ==================================================================================================
+
+
+    /** An iterator over the mapping of any null key, followed by the occupied slots of the table.
+      */
+    private abstract class TableIterator<E> implements Iterator<E>
+    {
+
+        TableIterator()
+        {
+            if( hasNullKey ) s = -2; // mapping of null key is next
+            else advance();
+        }
+
+
+        private void advance() { while( s < table.length && table[s] == null ) s += 2; }
+
+
+        /** Returns the element of the given mapping.
+          */
+        abstract E element( K key, V value );
+
+
+        private int s; // index of next occupied slot, -2 for the null key, or table length if none
+
+
+       // - I t e r a t o r --------------------------------------------------------------------------------
+
+
+        public boolean hasNext() { return s < table.length; }
+
+
+        public E next()
+        {
+            if( s >= table.length ) throw new NoSuchElementException();
+
+            final E e;
+            if( s < 0 ) e = element( null, nullKeyValue );
+            else
+            {
+                @SuppressWarnings("unchecked") final K key = (K)table[s];
+                @SuppressWarnings("unchecked") final V value = (V)table[s+1];
+                e = element( key, value );
+            }
+            s += 2;
+            advance();
+            return e;
+        }
+
+
+        public void remove() { throw new UnsupportedOperationException(); }
+
+    }
+
+
+}
@@ -3,7 +3,7 @@ package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
 import android.os.*;
 
 
-/** Utilities for working with parcels.
+/** Utilities for working with parcels and the {@linkplain StateOut state} of stators.
   *
   *     @see <a href='http://developer.android.com/reference/android/os/Parcel.html'
   *       target='_top'>android.os.Parcel</a>
@@ -15,44 +15,48 @@ public @ThreadSafe final class ParcelX
 
 
 
-    /** Writes a boolean value to a parcel.
+    /** Writes a boolean value to the state.
       */
-    public static void writeBoolean( final boolean value, final Parcel out )
+    public static void writeBoolean( final boolean value, final StateOut out )
     {
         out.writeByte( value? (byte)1: (byte)0 );
     }
 
 
-        /** Reads a boolean value from a parcel.
+        /** Reads a boolean value from the state.
           */
-        public static boolean readBoolean( final Parcel in ) { return in.readByte() != 0; }
+        public static boolean readBoolean( final StateIn in ) { return in.readByte() != 0; }
 
 
 
-    /** Writes a parcelable to a parcel without specifying any flags.
+    /** Writes a parcelable to the state without specifying any flags.
+      *
+      *     @throws ClassCastException if the state is not backed by a {@linkplain StateOnParcel parcel}.
       */
-    public static void writeParcelable( final Parcelable value, final Parcel out )
+    public static void writeParcelable( final Parcelable value, final StateOut out )
     {
-        out.writeParcelable( value, /*flags*/0 );
+        ((StateOnParcel)out).parcel().writeParcelable( value, /*flags*/0 );
     }
 
 
-        /** Reads a parcelable from a parcel using ParcelX’s own class loader.
+        /** Reads a parcelable from the state using ParcelX’s own class loader.
           *
           *     @param <T> The type of parcelable.
+          *     @throws ClassCastException if the state is not backed by a {@linkplain StateOnParcel
+          *       parcel}.
           */
-        public static <T extends Parcelable> T readParcelable( final Parcel in )
+        public static <T extends Parcelable> T readParcelable( final StateIn in )
         {
-            return in.readParcelable( classLoader ); /* cannot simply pass null here, and use the default
-              class loader, else "Class not found using the boot class loader" */
+            return ((StateOnParcel)in).parcel().readParcelable( classLoader ); /* cannot simply pass null
+              here, and use the default class loader, else "Class not found using the boot class loader" */
         }
 
 
 
-    /** Writes the string to the parcel with efficient handling for a frequent default instance.  The
+    /** Writes the string to the state with efficient handling for a frequent default instance.  The
       * string is considered at default if <code>s == sDefault</code>.
       */
-    public static void writeString( final String s, final Parcel out, final String sDefault )
+    public static void writeString( final String s, final StateOut out, final String sDefault )
     {
       // 1. Is default?
       // - - - - - - - -
@@ -65,9 +69,9 @@ public @ThreadSafe final class ParcelX
     }
 
 
-        /** Reads a string from the parcel with efficient handling for a frequent default instance.
+        /** Reads a string from the state with efficient handling for a frequent default instance.
           */
-        public static String readString( final Parcel in, final String sDefault )
+        public static String readString( final StateIn in, final String sDefault )
         {
           // 1.
           // - - -
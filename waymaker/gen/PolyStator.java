@@ -1,7 +1,5 @@
 package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
-
 
 /** A composite of stators that together persist the composite state of a thing, each component of the
   * poly-stator (component stator) persisting a distinct component of the state.
@@ -28,42 +26,42 @@ public final class PolyStator<T> extends KittedPolyStatorSR<T,Object,Object>
    // --------------------------------------------------------------------------------------------------
 
 
-    /** Saves state from the thing by calling st.{@linkplain Stator#save(Object,Parcel) save}
+    /** Saves state from the thing by calling st.{@linkplain Stator#save(Object,StateOut) save}
       * for each component st of this poly-stator.
       *
       *     @throws AssertionError if assertions are enabled and this poly-stator is still unsealed, or
       *       is {@linkplain #openToThread() unopen} to the calling thread.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public void save( final T th, final Parcel out ) { save( th, out, /*kit*/null ); }
+    public void save( final T th, final StateOut out ) { save( th, out, /*kit*/null ); }
 
 
 
-    /** {@linkplain #save(Object,Parcel) Saves state} from the thing with efficient handling for a
+    /** {@linkplain #save(Object,StateOut) Saves state} from the thing with efficient handling for a
       * frequent default instance.  The thing is considered at default if <code>th == thDefault</code>.
       * Restoration requires a call to a factory method such as <code>T.makeD( in, thDefault )</code>.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public void saveD( final T th, final Parcel out, final T thDefault )
+    public void saveD( final T th, final StateOut out, final T thDefault )
     {
         saveD( th, out, /*kit*/null, thDefault );
     }
 
 
 
-    /** Restores state to the thing by calling st.{@linkplain Stator#restore(Object,Parcel) restore}
+    /** Restores state to the thing by calling st.{@linkplain Stator#restore(Object,StateIn) restore}
       * for each component st of this poly-stator.
       *
       *     @throws AssertionError if assertions are enabled and this poly-stator is still unsealed, or
       *       is {@linkplain #openToThread() unopen} to the calling thread.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public void restore( final T th, final Parcel in ) { restore( th, in, /*kit*/null ); }
+    public void restore( final T th, final StateIn in ) { restore( th, in, /*kit*/null ); }
 
 
 
     /** Partly restores state to the thing by calling
-      * st.{@linkplain Stator#restore(Object,Parcel) restore}
+      * st.{@linkplain Stator#restore(Object,StateIn) restore}
       * for each component st in the leading part of this poly-stator.
       * The stators of the trailing part are mere {@linkplain StateSaver state savers}, unable to
       * restore state.  Their state should instead be restored by the caller after the call.  Usually
@@ -75,7 +73,7 @@ public final class PolyStator<T> extends KittedPolyStatorSR<T,Object,Object>
       *       is {@linkplain #openToThread() unopen} to the calling thread.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread")
-    public final int startCtorRestore( final T th, final Parcel in )
+    public final int startCtorRestore( final T th, final StateIn in )
     {
         return startCtorRestore( th, in, /*kit*/null );
     }
@@ -0,0 +1,44 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+
+/** A source from which a {@linkplain Stator stator} reads state in.  Its methods mirror the like-named
+  * methods of {@linkplain android.os.Parcel Parcel}.  Each reads a value as written by the corresponding
+  * method of {@linkplain StateOut StateOut}.
+  */
+public interface StateIn
+{
+
+
+   // - S t a t e - I n --------------------------------------------------------------------------------
+
+
+    /** Reads a byte array into a newly created array, or returns null if null was written.
+      */
+    public byte[] createByteArray();
+
+
+
+    /** Reads a byte value.
+      */
+    public byte readByte();
+
+
+
+    /** Reads an int value.
+      */
+    public int readInt();
+
+
+
+    /** Reads a long value.
+      */
+    public long readLong();
+
+
+
+    /** Reads a string, which may be null.
+      */
+    public String readString();
+
+
+}
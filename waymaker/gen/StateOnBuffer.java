@@ -0,0 +1,210 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.nio.*;
+
+
+/** An implementation that reads and writes the state of stators by way of a byte buffer.  Unlike a
+  * {@linkplain StateOnParcel parcel}, it requires no native calls and works on any Java platform.  The
+  * buffer may be of the heap, or direct for writing straight to a file channel.  Writing beyond the
+  * limit of the buffer replaces it with a larger one of the same kind, so the caller should fetch the
+  * {@linkplain #buffer() buffer} only after writing.  An instance may be {@linkplain #clear() cleared}
+  * for reuse.  Values are stored in the native byte order, so the state ought to be read on the same
+  * platform that wrote it.
+  */
+public @ThreadRestricted final class StateOnBuffer implements StateIn, StateOut
+{
+
+
+    /** Constructs a StateOnBuffer for writing, backed by a new buffer.
+      *
+      *     @param capacity The initial capacity of the buffer in bytes.
+      *     @param isDirect Whether to allocate a direct buffer, as opposed to a heap buffer.
+      */
+    public StateOnBuffer( final int capacity, final boolean isDirect )
+    {
+        this( isDirect? ByteBuffer.allocateDirect(capacity): ByteBuffer.allocate(capacity) );
+    }
+
+
+
+    /** Constructs a StateOnBuffer for reading the marshalled state in the given array.
+      *
+      *     @see #toByteArray()
+      */
+    public StateOnBuffer( final byte[] state ) { this( ByteBuffer.wrap( state )); }
+
+
+
+    /** Constructs a StateOnBuffer backed by the given buffer, setting its byte order to the native
+      * order.  Reading or writing begins at the current position of the buffer.
+      */
+    public StateOnBuffer( final ByteBuffer buffer )
+    {
+        this.buffer = buffer;
+        buffer.order( ByteOrder.nativeOrder() );
+    }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** The buffer that backs this state, positioned just after the last value read or written.
+      */
+    public ByteBuffer buffer() { return buffer; }
+
+
+        private ByteBuffer buffer;
+
+
+
+    /** Clears the buffer for reuse, positioning it at zero.
+      */
+    public void clear() { buffer.clear(); }
+
+
+
+    /** Returns the marshalled state, being a copy of the bytes of the buffer from zero to its current
+      * position.
+      */
+    public byte[] toByteArray()
+    {
+        final byte[] state = new byte[buffer.position()];
+        final ByteBuffer b = buffer.duplicate(); // leaving position of buffer unchanged
+        b.flip();
+        b.get( state );
+        return state;
+    }
+
+
+
+    /** Writes the remaining bytes of the given buffer as they are, without a length prefix, as for
+      * copying a section of state that was marshalled earlier.  Leaves the position of the given buffer
+      * unchanged.
+      */
+    public void writeBytes( final ByteBuffer bytes )
+    {
+        ensureRemaining( bytes.remaining() );
+        buffer.put( bytes.duplicate() );
+    }
+
+
+
+   // - S t a t e - I n --------------------------------------------------------------------------------
+
+
+    public byte[] createByteArray()
+    {
+        final int length = buffer.getInt();
+        if( length < 0 ) return null;
+
+        final byte[] value = new byte[length];
+        buffer.get( value );
+        return value;
+    }
+
+
+
+    public byte readByte() { return buffer.get(); }
+
+
+
+    public int readInt() { return buffer.getInt(); }
+
+
+
+    public long readLong() { return buffer.getLong(); }
+
+
+
+    public String readString()
+    {
+        final int length = buffer.getInt();
+        if( length < 0 ) return null;
+
+        final char[] chars = new char[length];
+        for( int c = 0; c < length; ++c ) chars[c] = buffer.getChar();
+        return new String( chars );
+    }
+
+
+
+   // - S t a t e - O u t ------------------------------------------------------------------------------
+
+
+    public void writeByte( final byte value )
+    {
+        ensureRemaining( 1 );
+        buffer.put( value );
+    }
+
+
+
+    public void writeByteArray( final byte[] value )
+    {
+        if( value == null )
+        {
+            writeInt( -1 );
+            return;
+        }
+
+        ensureRemaining( 4 + value.length );
+        buffer.putInt( value.length );
+        buffer.put( value );
+    }
+
+
+
+    public void writeInt( final int value )
+    {
+        ensureRemaining( 4 );
+        buffer.putInt( value );
+    }
+
+
+
+    public void writeLong( final long value )
+    {
+        ensureRemaining( 8 );
+        buffer.putLong( value );
+    }
+
+
+
+    public void writeString( final String value )
+    {
+        if( value == null )
+        {
+            writeInt( -1 );
+            return;
+        }
+
+        final int length = value.length();
+        ensureRemaining( 4 + length * 2 );
+        buffer.putInt( length );
+        for( int c = 0; c < length; ++c ) buffer.putChar( value.charAt( c ));
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** Ensures that the given number of bytes remain in the buffer for writing, replacing it with a
+      * larger buffer if necessary.
+      */
+    private void ensureRemaining( final int n )
+    {
+        if( buffer.remaining() >= n ) return;
+
+        final int position = buffer.position();
+        final int capacity = Math.max( buffer.capacity() * 2, position + n );
+        final ByteBuffer b = buffer.isDirect()? ByteBuffer.allocateDirect(capacity): ByteBuffer.allocate(capacity);
+        b.order( buffer.order() );
+        buffer.flip();
+        b.put( buffer );
+        buffer = b;
+    }
+
+
+}
@@ -0,0 +1,78 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import android.os.Parcel;
+
+
+/** An adapter that reads and writes the state of stators by way of a parcel.  It serves where the
+  * state must travel in a parcel, as in the case of a bundle of saved instance state that holds a
+  * {@linkplain android.os.Parcelable parcelable}.  Where no parcel is required, a {@linkplain
+  * StateOnBuffer StateOnBuffer} is faster in avoiding the native calls of the parcel.
+  */
+public final class StateOnParcel implements StateIn, StateOut
+{
+
+
+    /** Constructs a StateOnParcel.
+      */
+    public StateOnParcel( final Parcel parcel ) { this.parcel = parcel; }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** The parcel to which this adapter reads and writes.
+      */
+    public Parcel parcel() { return parcel; }
+
+
+        private final Parcel parcel;
+
+
+
+   // - S t a t e - I n --------------------------------------------------------------------------------
+
+
+    public byte[] createByteArray() { return parcel.createByteArray(); }
+
+
+
+    public byte readByte() { return parcel.readByte(); }
+
+
+
+    public int readInt() { return parcel.readInt(); }
+
+
+
+    public long readLong() { return parcel.readLong(); }
+
+
+
+    public String readString() { return parcel.readString(); }
+
+
+
+   // - S t a t e - O u t ------------------------------------------------------------------------------
+
+
+    public void writeByte( final byte value ) { parcel.writeByte( value ); }
+
+
+
+    public void writeByteArray( final byte[] value ) { parcel.writeByteArray( value ); }
+
+
+
+    public void writeInt( final int value ) { parcel.writeInt( value ); }
+
+
+
+    public void writeLong( final long value ) { parcel.writeLong( value ); }
+
+
+
+    public void writeString( final String value ) { parcel.writeString( value ); }
+
+
+}
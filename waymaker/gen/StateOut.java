@@ -0,0 +1,49 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+
+/** A sink for the state that a {@linkplain Stator stator} writes out.  Its methods mirror the like-named
+  * methods of {@linkplain android.os.Parcel Parcel}, so allowing state to be saved either to a parcel
+  * by way of a {@linkplain StateOnParcel StateOnParcel}, or to a byte buffer by way of a {@linkplain
+  * StateOnBuffer StateOnBuffer}, which works on any Java platform.
+  *
+  *     @see StateIn
+  */
+public interface StateOut
+{
+
+
+   // - S t a t e - O u t ------------------------------------------------------------------------------
+
+
+    /** Writes a byte value.
+      */
+    public void writeByte( byte value );
+
+
+
+    /** Writes a byte array, which may be null.
+      *
+      *     @see StateIn#createByteArray()
+      */
+    public void writeByteArray( byte[] value );
+
+
+
+    /** Writes an int value.
+      */
+    public void writeInt( int value );
+
+
+
+    /** Writes a long value.
+      */
+    public void writeLong( long value );
+
+
+
+    /** Writes a string, which may be null.
+      */
+    public void writeString( String value );
+
+
+}
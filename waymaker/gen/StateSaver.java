@@ -1,7 +1,5 @@
 package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
-
 
 /** A stator that saves state, but does not restore it.
   * Restoration is done instead by {@linkplain KittedPolyStatorSR#startCtorRestore CtorRestore}.
@@ -17,7 +15,7 @@ public abstract class StateSaver<T> extends Stator<T>
 
     /** Throws UnsupportedOperationException.
       */
-    public final void restore( T _th, Parcel _in )
+    public final void restore( T _th, StateIn _in )
     {
         throw new UnsupportedOperationException( "Restricted to CtorRestore" );
     }
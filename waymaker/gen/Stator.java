@@ -1,7 +1,5 @@
 package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
-
 
 /** A persister of state for something.
   *
@@ -14,26 +12,26 @@ public abstract class Stator<T> implements KittedStatorSR<T,Object,Object>
 {
 
 
-    /** Saves state from the thing, writing out to the parcel.
+    /** Saves state from the thing, writing it out.
       */
-    public abstract void save( T th, Parcel out );
+    public abstract void save( T th, StateOut out );
 
 
 
-    /** Restores state to the thing, reading in from the parcel.
+    /** Restores state to the thing, reading it in.
       */
-    public abstract void restore( T th, Parcel in );
+    public abstract void restore( T th, StateIn in );
 
 
 
    // - K i t t e d - S t a t o r - S - R --------------------------------------------------------------
 
 
-    public final void save( final T th, final Parcel out, Object unusedKit ) { save( th, out); }
+    public final void save( final T th, final StateOut out, Object unusedKit ) { save( th, out); }
 
 
 
-    public final void restore( final T th, final Parcel in, Object unusedKit ) { restore( th, in ); }
+    public final void restore( final T th, final StateIn in, Object unusedKit ) { restore( th, in ); }
 
 
 }
@@ -0,0 +1,134 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.util.concurrent.CountDownLatch;
+
+
+/** A task of work that runs on a worker thread of a {@linkplain WorkScheduler scheduler} until it is
+  * either done or no longer wanted.  Once its {@linkplain #token() token} is superseded, the task is
+  * skipped if yet unstarted, or interrupted if running and interruptible.  Work that ignores interrupts
+  * should call the token’s {@linkplain TaskSeries.Token#checkpoint() checkpoint} at intervals.
+  *
+  *     @see <a href='package-summary.html#TaskSync'>TaskSync</a>
+  */
+public abstract class SupersedableTask implements Runnable
+{
+
+
+    /** Constructs a SupersedableTask.
+      *
+      *     @see #token()
+      */
+    public @ThreadSafe SupersedableTask( final TaskSeries.Token token ) { this.token = token; }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Answers whether the task may be interrupted while running, on supersession of its token.  This
+      * implementation returns true.  Override it to defer the supersession of work that is better left
+      * to finish, such as a network fetch whose response will be cached.
+      */
+    public @ThreadSafe boolean isInterruptible() { return true; }
+
+
+
+    /** Waits until the task is done, or skipped.  All actions of the task happen-before a return from
+      * this method.
+      *
+      *     @throws InterruptedException if the wait is interrupted.
+      */
+    public @ThreadSafe final void join() throws InterruptedException { done.await(); }
+
+
+        private final CountDownLatch done = new CountDownLatch( 1 );
+
+
+
+    /** Implements the work of the task, called once on a worker thread.
+      */
+    protected abstract void runTask();
+
+
+
+    /** The token of cancellation under which this task runs.
+      */
+    public @ThreadSafe final TaskSeries.Token token() { return token; }
+
+
+        private final TaskSeries.Token token;
+
+
+
+    /** Prevents the task from running if it is yet unstarted, as when its work was already done by
+      * others of the same token.
+      *
+      *     @return True if the task was withdrawn, false if it had started.
+      */
+    public @ThreadSafe final synchronized boolean withdraw()
+    {
+        if( isStarted ) return false;
+
+        isWithdrawn = true;
+        return true;
+    }
+
+
+
+   // - R u n n a b l e --------------------------------------------------------------------------------
+
+
+    /** Calls {@linkplain #runTask() runTask} unless the task is withdrawn or its token superseded.
+      */
+    public final void run()
+    {
+        token.register( this );
+        try
+        {
+            synchronized( this )
+            {
+                if( isWithdrawn || token.isSuperseded() ) return; // skipping the unwanted task
+
+                isStarted = true;
+                thread = Thread.currentThread();
+            }
+            try { runTask(); }
+            finally
+            {
+                synchronized( this )
+                {
+                    thread = null;
+                    Thread.interrupted(); // clear any interrupt aimed at this task, sparing the next
+                }
+            }
+        }
+        finally
+        {
+            token.unregister( this );
+            done.countDown(); // grep TaskSync
+        }
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** Interrupts the task if it is running and interruptible.
+      */
+    synchronized void interrupt() { if( thread != null && isInterruptible() ) thread.interrupt(); }
+
+
+
+    private boolean isStarted;
+
+
+
+    private boolean isWithdrawn;
+
+
+
+    private Thread thread; // that runs the task, or null if it is not running
+
+
+}
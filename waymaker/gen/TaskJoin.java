@@ -0,0 +1,62 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+
+/** A runnable that joins a supersedable task back into the application main thread.  The task posts it
+  * to the main thread at the end of its work.  It runs only if the task’s token is not superseded
+  * meantime, and then only after joining the task in order to synchronize with it.
+  *
+  *     @see <a href='package-summary.html#TaskSync'>TaskSync</a>
+  */
+public abstract class TaskJoin implements Runnable
+{
+
+
+    /** Constructs a TaskJoin.
+      *
+      *     @see #task()
+      */
+    public @ThreadSafe TaskJoin( final SupersedableTask task ) { this.task = task; }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Implements the run after joining the task.
+      */
+    public abstract void runAfterJoin();
+
+
+
+    /** The task to join before running.
+      */
+    public @ThreadSafe final SupersedableTask task() { return task; }
+
+
+        private final SupersedableTask task;
+
+
+
+   // - R u n n a b l e --------------------------------------------------------------------------------
+
+
+    /** Skips the run if the task is superseded, else {@linkplain SupersedableTask#join() joins} the task
+      * and calls {@linkplain #runAfterJoin() runAfterJoin}.  Skips the call too if the join is
+      * interrupted, and instead returns with interrupt status true.
+      */
+    public final void run()
+    {
+        if( task.token().isSuperseded() ) return; // abort to avoid collision
+
+        try{ task.join(); }
+        catch( InterruptedException _x )
+        {
+            Thread.currentThread().interrupt(); // pass it on
+            return;
+        }
+
+        runAfterJoin();
+    }
+
+
+}
@@ -0,0 +1,121 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.util.ArrayList;
+
+
+/** A series of supersedable tasks, in which each new token supersedes all earlier tokens.  Tasks that
+  * share a token form a single unit of work, such as the stages of a refresh.  Superseding the token
+  * tells each of its tasks that it is no longer wanted.
+  *
+  *     @see SupersedableTask
+  */
+public @ThreadSafe final class TaskSeries
+{
+
+
+    /** The serial number of the latest token, or zero if there is none.
+      */
+    public int serialLast() { return serialLast; }
+
+
+        private volatile int serialLast;
+
+
+
+    /** Sets the serial number of the latest token, so continuing the series from it, as on restoring
+      * saved state.
+      *
+      *     @throws IllegalStateException if a token was already issued.
+      */
+    public synchronized void serialLast( final int serial )
+    {
+        if( token != null ) throw new IllegalStateException( "Token already issued" );
+
+        serialLast = serial;
+    }
+
+
+
+    /** Supersedes the current token, if any, and issues a new one numbered next in series.
+      */
+    public synchronized Token supersede()
+    {
+        if( token != null ) token.supersede();
+        token = new Token( ++serialLast );
+        return token;
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private Token token; // current, or null if none issued
+
+
+
+   // ==================================================================================================
+
+
+    /** A serially numbered token of cancellation, shared by the tasks of a single unit of work.
+      */
+    public static @ThreadSafe final class Token
+    {
+
+        Token( final int serial ) { this.serial = serial; }
+
+
+       // ----------------------------------------------------------------------------------------------
+
+
+        /** Returns normally if work is still wanted, otherwise throws InterruptedException.  Work should
+          * call this at intervals, so detecting supersession even where it ignores interrupts.  Leaves
+          * the interrupt status of the thread unchanged.
+          *
+          *     @throws InterruptedException if the token is superseded, or the current thread is
+          *       interrupted.
+          */
+        public void checkpoint() throws InterruptedException
+        {
+            if( isSuperseded || Thread.currentThread().isInterrupted() ) throw new InterruptedException();
+        }
+
+
+        /** Answers whether this token is superseded by a later one, so its work is no longer wanted.
+          */
+        public boolean isSuperseded() { return isSuperseded; }
+
+
+            private volatile boolean isSuperseded;
+
+
+        /** The serial number of this token, one greater than that of the token it superseded.
+          */
+        public int serial() { return serial; }
+
+
+            private final int serial;
+
+
+       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+
+
+        synchronized void register( final SupersedableTask task ) { tasks.add( task ); }
+
+
+        private synchronized void supersede()
+        {
+            isSuperseded = true;
+            for( final SupersedableTask task: tasks ) task.interrupt(); // tap on shoulder, "no longer wanted"
+        }
+
+
+        private final ArrayList<SupersedableTask> tasks = new ArrayList<>( /*initialCapacity*/4 ); // running
+
+
+        synchronized void unregister( final SupersedableTask task ) { tasks.remove( task ); }
+
+    }
+
+
+}
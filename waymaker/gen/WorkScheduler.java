@@ -0,0 +1,72 @@
+package waymaker.gen; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/** A scheduler of work on a bounded pool of daemon worker threads, which spares the cost of starting a
+  * new thread for each task.  Tasks are run in the order scheduled.  Idle threads expire after a
+  * short time.  Because the order is first in, first out, long work delays all work scheduled after
+  * it; so work of a different kind, or needing a different priority, is better given a scheduler of
+  * its own.
+  *
+  *     @see <a href='package-summary.html#TaskSync'>TaskSync</a>
+  */
+public @ThreadSafe final class WorkScheduler
+{
+
+
+    /** Constructs a WorkScheduler.
+      *
+      *     @param name The name of the scheduler, for the purpose of naming its threads.
+      *     @param threadsMax The maximum number of worker threads.
+      *     @param priority The priority of the worker threads, or the maximum priority of their thread
+      *       group if less.
+      */
+    public WorkScheduler( final String name, final int threadsMax, final int priority )
+    {
+        final AtomicInteger tCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor( threadsMax, threadsMax, /*keepAliveTime*/30, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+        {
+            public Thread newThread( final Runnable r )
+            {
+                final Thread t = new Thread( r, name + " worker " + tCount.incrementAndGet() );
+                t.setPriority( priority ); // or to limit of group
+                t.setDaemon( true );
+                return t;
+            }
+        });
+        executor.allowCoreThreadTimeOut( true );
+    }
+
+
+
+    /** The scheduler shared by the application for general work, such as refreshing.  It allows one
+      * thread per processor core, but no fewer than two and no more than four, each of normal
+      * priority.
+      */
+    public static WorkScheduler i() { return instance; }
+
+
+        private static final WorkScheduler instance = new WorkScheduler( WorkScheduler.class.getSimpleName(),
+          Math.max( 2, Math.min( Runtime.getRuntime().availableProcessors(), 4 )), Thread.NORM_PRIORITY );
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Schedules the given work to run on a worker thread.
+      */
+    public void execute( final Runnable work ) { executor.execute( work ); } // grep TaskSync
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final ThreadPoolExecutor executor;
+
+
+}
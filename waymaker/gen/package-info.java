@@ -98,5 +98,28 @@
   * from a join() on that thread.”
   * (<a href='http://docs.oracle.com/javase/specs/jls/se8/html/jls-17.html#jls-17.4.5' target='_top'>17.4.5</a>)
   * </p>
+  *
+  * <h3 id='TaskSync'>Thread synchronization by scheduling and joining a task (TaskSync)</h3>
+  *
+  * <p>The analogues of StartSync and TermSync for work that runs on a pooled thread.
+  * “Actions in a thread prior to the submission of a Runnable object to an Executor
+  * <i>happen-before</i> its execution begins.”  And “actions prior to ‘releasing’ synchronizer
+  * methods such as ... CountDownLatch.countDown <i>happen-before</i> actions subsequent to a
+  * successful ‘acquiring’ method such as ... CountDownLatch.await on the same synchronizer object
+  * in another thread.”
+  * (<a href='http://docs.oracle.com/javase/8/docs/api/java/util/concurrent/package-summary.html#MemoryVisibility'
+  *  target='_top'>java.util.concurrent</a>)  Therefore scheduling a {@linkplain SupersedableTask task}
+  * by a {@linkplain WorkScheduler WorkScheduler} ensures that the task sees every previous action of
+  * the scheduling thread, and a {@linkplain SupersedableTask#join() join} of the task ensures that the
+  * joining thread sees every action of the task.</p>
+  *
+  * <h3 id='ReadySync'>Thread synchronization by a volatile readiness flag (ReadySync)</h3>
+  *
+  * <p>“A write to a volatile variable v <i>synchronizes-with</i> all subsequent reads of v by any
+  * thread.”  (<a href='http://docs.oracle.com/javase/specs/jls/se8/html/jls-17.html#jls-17.4.4'
+  * target='_top'>17.4.4</a>)  Therefore when thread T1 sets its results and <em>then</em> writes true
+  * to a volatile flag, a thread T2 that <em>first</em> reads the flag as true, and then reads the
+  * results, is guaranteed to see them as T1 set them.  Each site that is tagged “grep ReadySync”
+  * states which of the two it is, a write after setting or a read before reading.</p>
   */
 package waymaker.gen; // Copyright © 2015 Michael Allan.  Licence MIT.
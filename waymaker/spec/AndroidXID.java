@@ -1,7 +1,6 @@
 package waymaker.spec; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
-import waymaker.gen.ThreadSafe;
+import waymaker.gen.*;
 
 
 /** Utilities for working with identity tags in Android applications.
@@ -13,20 +12,51 @@ public @ThreadSafe final class AndroidXID
 
 
 
-    /** Reads an identity tag from a parcel.
+    /** Reads an identity tag from the state in packed form.
+      *
+      *     @see #writePackedUDID(TriSerialUDID,StateOut)
+      */
+    public static TriSerialUDID readPackedUDID( final StateIn in )
+    {
+        final TriSerialUDID udid = readPackedUDIDOrNull( in );
+        if( udid == null ) throw new IllegalStateException( "Expected identity tag, read null" );
+
+        return udid;
+    }
+
+
+
+    /** Reads an identity tag or null from the state in packed form.
+      *
+      *     @return The identity tag or null.
+      *     @see #writePackedUDIDOrNull(TriSerialUDID,StateOut)
+      */
+    public static TriSerialUDID readPackedUDIDOrNull( final StateIn in )
+    {
+        final long p = in.readLong();
+        if( p >= 0L ) return UDID.make( p );
+
+        if( p == PACKED_NULL ) return null;
+
+        return readUDID( in ); // too long to pack, so written in full
+    }
+
+
+
+    /** Reads an identity tag from the state.
       */
-    public static TriSerialUDID readUDID( final Parcel in )
+    public static TriSerialUDID readUDID( final StateIn in )
     {
         return UDID.make( in.readByte(), in.createByteArray() );
     }
 
 
 
-    /** Reads an identity tag or null from a parcel.
+    /** Reads an identity tag or null from the state.
       *
       *     @return The identity tag or null.
       */
-    public static TriSerialUDID readUDIDOrNull( final Parcel in )
+    public static TriSerialUDID readUDIDOrNull( final StateIn in )
     {
         final byte scopeByte = in.readByte();
         if( scopeByte == UDID.SCOPE_BYTE_NULL ) return null;
@@ -36,9 +66,9 @@ public @ThreadSafe final class AndroidXID
 
 
 
-    /** Writes an identity tag to a parcel.
+    /** Writes an identity tag to the state.
       */
-    public static void writeUDID( final TriSerialUDID _udid, final Parcel out )
+    public static void writeUDID( final TriSerialUDID _udid, final StateOut out )
     {
         final UDID udid = (UDID)_udid; // gain access to package-protected members
         out.writeByte( udid.scopeByte() );
@@ -47,21 +77,62 @@ public @ThreadSafe final class AndroidXID
 
 
 
-    /** Writes a null identity tag to a parcel.
+    /** Writes an identity tag to the state in packed form.  The packed form occupies eight bytes of
+      * the state, while the byte array of the full form occupies roughly twice that.  An identity tag
+      * too long to pack is written in full, following a marker.
+      *
+      *     @see UDID#packedUniversally()
       */
-    public static void writeUDIDNull( final Parcel out ) { out.writeByte( UDID.SCOPE_BYTE_NULL ); }
+    public static void writePackedUDID( final TriSerialUDID _udid, final StateOut out )
+    {
+        final UDID udid = (UDID)_udid; // gain access to package-protected members
+        final long p = udid.packedUniversally();
+        out.writeLong( p );
+        if( p == ID.NOT_PACKED ) writeUDID( udid, out );
+    }
 
 
 
-    /** Writes an identity tag or null to a parcel.
+    /** Writes a null identity tag to the state in packed form.
+      */
+    public static void writePackedUDIDNull( final StateOut out ) { out.writeLong( PACKED_NULL ); }
+
+
+
+    /** Writes an identity tag or null to the state in packed form.
       *
       *     @param _udid The identity or null.
       */
-    public static void writeUDIDOrNull( final TriSerialUDID _udid, final Parcel out )
+    public static void writePackedUDIDOrNull( final TriSerialUDID _udid, final StateOut out )
+    {
+        if( _udid == null ) out.writeLong( PACKED_NULL );
+        else writePackedUDID( _udid, out );
+    }
+
+
+
+    /** Writes a null identity tag to the state.
+      */
+    public static void writeUDIDNull( final StateOut out ) { out.writeByte( UDID.SCOPE_BYTE_NULL ); }
+
+
+
+    /** Writes an identity tag or null to the state.
+      *
+      *     @param _udid The identity or null.
+      */
+    public static void writeUDIDOrNull( final TriSerialUDID _udid, final StateOut out )
     {
         if( _udid == null ) out.writeByte( UDID.SCOPE_BYTE_NULL );
         else writeUDID( _udid, out );
     }
 
 
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private static final long PACKED_NULL = -2L; // marks a null identity tag, distinct from NOT_PACKED
+
+
 }
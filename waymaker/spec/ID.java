@@ -1,5 +1,6 @@
 package waymaker.spec; // Copyright © 2015 Michael Allan.  Licence MIT.
 
+import waymaker.gen.MathX;
 import waymaker.gen.ThreadSafe;
 
 
@@ -18,7 +19,25 @@ public @ThreadSafe class ID implements TriSerialID
       *
       *     @see #numericBytes()
       */
-    ID( byte[] _numericBytes ) { numericBytes = _numericBytes; }
+    ID( final byte[] _numericBytes )
+    {
+        packedNumerically = pack( _numericBytes );
+        numericBytes = packedNumerically == NOT_PACKED? _numericBytes: null;
+    }
+
+
+
+    /** Constructs an ID from the packed form of its serial numbers.
+      *
+      *     @param _packedNumerically A {@linkplain #packedNumerically() packed form} other than
+      *       NOT_PACKED.
+      */
+    ID( final long _packedNumerically )
+    {
+        assert _packedNumerically >= 0L;
+        packedNumerically = _packedNumerically;
+        numericBytes = null;
+    }
 
 
 
@@ -27,9 +46,9 @@ public @ThreadSafe class ID implements TriSerialID
       *
       *     @param cN The length of the substring to parse, beginning at index 0 in the string.
       */
-    ID( final String string, final int cN ) throws MalformedID
+    ID( final CharSequence string, final int cN ) throws MalformedID
     {
-        numericBytes = new byte[cN];
+        final byte[] bytes = new byte[cN];
         int c = 0; // index of next character in string
         int d = 0; // count of digits stored thus far
         final int sa1N; // length of sa1, the first sub-array
@@ -44,26 +63,27 @@ public @ThreadSafe class ID implements TriSerialID
             try
             {
                 sa1FirstDigit = digit( string.charAt( c++ ));
-                numericBytes[d++] = sa1FirstDigit;
-                do numericBytes[d++] = digit(string.charAt(c++)); while( d < SA1N_MIN );
+                bytes[d++] = sa1FirstDigit;
+                do bytes[d++] = digit(string.charAt(c++)); while( d < SA1N_MIN );
             }
-            catch( IndexOutOfBoundsException _x ) { throw new MalformedID( "Too short", string ); }
+            catch( IndexOutOfBoundsException _x ) { throw new MalformedID( "Too short", string.toString() ); }
 
             // Any remaining digits, followed by a dash.
             for( ;; )
             {
-                if( c >= cN ) throw new MalformedID( "Missing dash", string );
+                if( c >= cN ) throw new MalformedID( "Missing dash", string.toString() );
 
                 final char ch = string.charAt( c++ );
                 if( ch == '-' )
                 {
                     sa1N = d; // length is count of digits stored
-                    if( sa1N > SA1N_MAX ) throw new MalformedID( "Numeric overflow before dash", string );
+                    if( sa1N > SA1N_MAX ) throw new MalformedID( "Numeric overflow before dash",
+                      string.toString() );
 
                     break; // without d++, not storing the dash
                 }
 
-                numericBytes[d++] = digit( ch );
+                bytes[d++] = digit( ch );
             }
 
           // (sa2) Store the second sub-array.
@@ -72,29 +92,38 @@ public @ThreadSafe class ID implements TriSerialID
             try
             {
                 sa2FirstDigit = digit( string.charAt( c++ ));
-                numericBytes[d++] = sa2FirstDigit;
+                bytes[d++] = sa2FirstDigit;
+            }
+            catch( IndexOutOfBoundsException _x )
+            {
+                throw new MalformedID( "No digit after dash", string.toString() );
             }
-            catch( IndexOutOfBoundsException _x ) { throw new MalformedID( "No digit after dash", string ); }
 
             // Any remaining digits.
             if( c < cN )
             {
                 sa2IsMultiDigit = true;
-                do numericBytes[d++] = digit(string.charAt(c++)); while( c < cN );
+                do bytes[d++] = digit(string.charAt(c++)); while( c < cN );
             }
             else sa2IsMultiDigit = false;
         }
-        catch( BadCharacter _x ) { throw new MalformedID( "Bad character at index " + c, string ); }
+        catch( BadCharacter _x ) { throw new MalformedID( "Bad character at index " + c, string.toString() ); }
 
       // (sa1NEnc) Encode the length of sa1.
       // - - - - - - - - - - - - - - - - - - -
-        assert d == numericBytes.length - 1; // storing in final byte
-        numericBytes[d] = (byte)(sa1N + SA1N_ENCODER);
+        assert d == bytes.length - 1; // storing in final byte
+        bytes[d] = (byte)(sa1N + SA1N_ENCODER);
 
       // - - -
-        if( sa1N > SA1N_MIN && sa1FirstDigit == 0 ) throw new MalformedID( "Zero leader", string );
+        if( sa1N > SA1N_MIN && sa1FirstDigit == 0 ) throw new MalformedID( "Zero leader", string.toString() );
 
-        if( sa2IsMultiDigit && sa2FirstDigit == 0 ) throw new MalformedID( "Zero leader after dash", string );
+        if( sa2IsMultiDigit && sa2FirstDigit == 0 )
+        {
+            throw new MalformedID( "Zero leader after dash", string.toString() );
+        }
+
+        packedNumerically = pack( bytes );
+        numericBytes = packedNumerically == NOT_PACKED? bytes: null;
     }
 
 
@@ -106,35 +135,42 @@ public @ThreadSafe class ID implements TriSerialID
       * length, a non-zero leading character, and each character must be one of the following radix 62
       * digits: {@value #RADIX_62_STRING}.
       */
-    public static boolean isSerialForm( final String string ) // cf. digit(ch)
+    public static boolean isSerialForm( final CharSequence string )
     {
         final int cN = string.length();
         if( cN == 0 ) return false; // empty string
 
-        int c = 0;
-        char ch = string.charAt( 0 );
-        if( ch == '0' ) return false; // zero leader
+        if( string.charAt(0) == '0' ) return false; // zero leader
 
-        for( ;; )
-        {
-            if( ch < '0' ) return false;
+        for( int c = 0; c < cN; ++c ) if( !isDigit( string.charAt( c ))) return false;
 
-            if( ch > '9' )
-            {
-                if( ch < 'A' ) return false;
+        return true;
+    }
 
-                if( ch > 'Z' )
-                {
-                    if( ch < 'a' || ch > 'z' ) return false;
-                }
-            }
 
-            ++c;
-            if( c == cN ) return true;
 
-            ch = string.charAt( c );
-        }
-    }
+    /** The value of a packed form for an identity tag whose serial numbers are too long to pack: {@value}.
+      */
+    public static final long NOT_PACKED = -1L;
+
+
+
+    /** Returns the serial numbers of this identity tag packed in a single, non-negative long, or
+      * {@linkplain #NOT_PACKED NOT_PACKED} if they are too long to pack.  Serial numbers of nine digits or
+      * fewer in all are always packed, and the packed form is unique to them.  So identity tags that both
+      * have a packed form are numerically equal if and only if their packed forms are equal, and ordered
+      * numerically as their packed forms are ordered.
+      */
+    public final long packedNumerically() { return packedNumerically; }
+
+
+        private final long packedNumerically; // or NOT_PACKED, in which case numericBytes is set
+
+        // Packed from high to low order bits: a leading zero bit, two zero bits reserved for the scope
+        // of a UDID, the length of sa1 less SA1N_MIN in 3 bits, the digits of sa1 in 6 bits each, the
+        // length of sa2 less one in 4 bits, the digits of sa2 in 6 bits each, then zero bits padding out
+        // the space of PACKED_DIGITS_MAX digits.  The fixed position of each length field makes the
+        // numerical ordering of packed forms consistent with that of compareNumerically.
 
 
 
@@ -158,18 +194,28 @@ public @ThreadSafe class ID implements TriSerialID
 
 
 
-    /** Derives a hash code from the instance number of this identity tag.
+    /** Derives a hash code from the serial numbers of this identity tag.  The bits of the serial
+      * numbers are thoroughly {@linkplain MathX#mix(long) mixed}, so even sequential serial numbers
+      * spread evenly over the buckets of a hash table.  The hash code is calculated once and cached.
       */
     public final @Override int hashCode()
     {
-        final int dEnd = numericBytes.length - 1; // end bound (index of last+1)
-        int d = numericBytes[dEnd] - SA1N_ENCODER; // start index
-        int hashCode = 31 + numericBytes[d++];
-        while( d < dEnd ) hashCode = 31 * hashCode + numericBytes[d++];
-        return hashCode;
+        int h = hashCode; // racy single check, benign because an int is written atomically
+        if( h == 0 )
+        {
+            long x = packedNumerically;
+            if( x == NOT_PACKED ) for( final byte b: numericBytes ) x = 31L * x + b;
+            x = MathX.mix( x );
+            h = (int)(x ^ (x >>> 32));
+            hashCode = h; // if zero, then merely recalculated each time
+        }
+        return h;
     }
 
 
+        private transient int hashCode; // cached, or zero if not yet calculated
+
+
 
     /** Outputs the tri-serial string form of this identity tag.
       */
@@ -223,26 +269,33 @@ public @ThreadSafe class ID implements TriSerialID
       */
     final int compareNumerically( final ID jID )
     {
-        final byte[] jBytes = jID.numericBytes;
-        if( numericBytes == jBytes ) return 0;
+        if( packedNumerically != NOT_PACKED && jID.packedNumerically != NOT_PACKED )
+        {
+            return Long.compare( packedNumerically, jID.packedNumerically );
+        }
+
+        final byte[] iBytes = numericBytes();
+        final byte[] jBytes = jID.numericBytes();
+        if( iBytes == jBytes ) return 0;
 
         // (i) this identity tag, and (j) other
-        final int iSA2End = numericBytes.length - 1; // end bound (index of last+1) in sub-array 2
-        final int jSA2End =       jBytes.length - 1;
-        final int iSA1N = numericBytes[iSA2End] - SA1N_ENCODER; // end bound in sub-array 1, start index in 2
-        final int jSA1N =       jBytes[jSA2End] - SA1N_ENCODER;
-        int result =               compareNumerically(     0, iSA1N,   jBytes,     0, jSA1N ); // sub-array 1
-        if( result == 0 ) result = compareNumerically( iSA1N, iSA2End, jBytes, jSA1N, jSA2End ); //    "    2
+        final int iSA2End = iBytes.length - 1; // end bound (index of last+1) in sub-array 2
+        final int jSA2End = jBytes.length - 1;
+        final int iSA1N = iBytes[iSA2End] - SA1N_ENCODER; // end bound in sub-array 1, start index in 2
+        final int jSA1N = jBytes[jSA2End] - SA1N_ENCODER;
+        int result =               compareNumerically( iBytes,     0, iSA1N,   jBytes,     0, jSA1N ); // sa1
+        if( result == 0 ) result = compareNumerically( iBytes, iSA1N, iSA2End, jBytes, jSA1N, jSA2End ); // sa2
         return result;
     }
 
 
-        private int compareNumerically( int i, final int iEnd, final byte[] jBytes, int j, final int jEnd )
+        private static int compareNumerically( final byte[] iBytes, int i, final int iEnd, final byte[] jBytes,
+          int j, final int jEnd )
         {
             int result = Integer.compare( iEnd - i, jEnd - j ); // compare lengths
             if( result == 0 ) for( ;; )
             {
-                result = Byte.compare( numericBytes[i], jBytes[j] );
+                result = Byte.compare( iBytes[i], jBytes[j] );
                 if( result != 0 ) break;
 
                 ++i;
@@ -256,7 +309,7 @@ public @ThreadSafe class ID implements TriSerialID
 
 
 
-    private static byte digit( final char ch ) throws BadCharacter // cf. isSerialNumber(String)
+    private static byte digit( final char ch ) throws BadCharacter // cf. isDigit(ch)
     {
         final int digit;
         if( ch >= 'A' )
@@ -273,6 +326,53 @@ public @ThreadSafe class ID implements TriSerialID
 
 
 
+    /** Answers whether ch is a radix 62 digit.
+      */
+    private static boolean isDigit( final int ch ) // cf. digit(ch)
+    {
+        if( ch <= '9' ) return ch >= '0';
+
+        if( ch <= 'Z' ) return ch >= 'A';
+
+        return ch >= 'a' && ch <= 'z';
+    }
+
+
+
+    /** Answers whether the leading cN characters of the string are a well formed identity tag in basic,
+      * unscoped string form, such that {@linkplain #ID(CharSequence,int) parsing} them would succeed.
+      */
+    static boolean isTriSerialForm( final CharSequence string, final int cN ) // cf. ID(CharSequence,int)
+    {
+      // (sa1) Domain and generator numbers, followed by a dash.
+      // - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+        int c = 0;
+        for( ;; ++c )
+        {
+            if( c >= cN ) return false; // missing dash
+
+            final char ch = string.charAt( c );
+            if( ch == '-' ) break;
+
+            if( !isDigit( ch )) return false;
+        }
+        final int sa1N = c;
+        if( sa1N < SA1N_MIN || sa1N > SA1N_MAX ) return false;
+
+        if( sa1N > SA1N_MIN && string.charAt(0) == '0' ) return false; // zero leader
+
+      // (sa2) Instance number.
+      // - - - - - - - - - - - -
+        final int cSA2 = ++c;
+        if( cSA2 >= cN ) return false; // no digit after dash
+
+        for( ; c < cN; ++c ) if( !isDigit( string.charAt( c ))) return false;
+
+        return cN - cSA2 == 1 || string.charAt(cSA2) != '0'; // no zero leader after dash
+    }
+
+
+
     /** Answers whether this identity tag has the same serial numbers as oID.  This method will usually
       * answer faster than compareNumerically because it tests in reverse beginning with the instance
       * number, which is more likely to differ.  Does no preliminary "oID == this" short cutting, but
@@ -282,6 +382,11 @@ public @ThreadSafe class ID implements TriSerialID
       */
     final boolean equalsNumerically( final ID oID )
     {
+        if( packedNumerically != NOT_PACKED || oID.packedNumerically != NOT_PACKED )
+        {
+            return packedNumerically == oID.packedNumerically; // packed form is unique to its numbers
+        }
+
         final byte[] oBytes = oID.numericBytes;
         if( numericBytes == oBytes ) return true;
 
@@ -299,8 +404,10 @@ public @ThreadSafe class ID implements TriSerialID
 
 
     /** The serial numbers of this identity tag together encoded as a byte array.  Do not modify it.
+      * If the serial numbers are {@linkplain #packedNumerically() packed}, then each call unpacks them
+      * to a new array.
       */
-    byte[] numericBytes() { return numericBytes; }
+    byte[] numericBytes() { return packedNumerically == NOT_PACKED? numericBytes: unpack(packedNumerically); }
 
         // Three fields: sa1, sa2, sa1NEnc.  The first (sa1) is a sub-array storing the digits of the
         // domain number, followed by the digits of the generator number.  The generator number is
@@ -315,7 +422,63 @@ public @ThreadSafe class ID implements TriSerialID
         // encoded as a single byte in the range 0..61 inclusive (radix 62), except the first digit of a
         // multi-digit domain or instance number is never a zero.
 
-        private final byte[] numericBytes;
+        private final byte[] numericBytes; // or null if packed
+
+
+
+    /** Returns the given serial numbers in packed form, or NOT_PACKED if they are too long to pack.
+      *
+      *     @see #packedNumerically()
+      */
+    private static long pack( final byte[] numericBytes )
+    {
+        if( numericBytes.length - 1 > PACKED_DIGITS_MAX ) return NOT_PACKED;
+
+        return packPrefix( numericBytes ); // which for so few digits is the whole
+    }
+
+
+        private static final int PACKED_DIGITS_MAX = 9;
+
+        private static final int PACKED_BITS = 3 + 4 + 6 * PACKED_DIGITS_MAX; // 61, less than 64
+
+
+
+    /** Returns the leading bits of the packed form of the given serial numbers, as they would be if the
+      * packed form had no limit on its length.  Where a length field would overflow, it is set to its
+      * maximum and the remaining bits are zeroed.  So the numerical ordering of prefixes is consistent
+      * with that of compareNumerically, though unequal serial numbers may have equal prefixes.  Where
+      * the serial numbers are short enough to pack, the prefix is the whole of the packed form.
+      *
+      *     @see #packedNumerically()
+      */
+    static long packPrefix( final byte[] numericBytes )
+    {
+        final int sa2End = numericBytes.length - 1; // end bound (index of last+1) in sub-array 2
+        final int sa1N = numericBytes[sa2End] - SA1N_ENCODER;
+        if( sa1N - SA1N_MIN >= 0x7 ) return 0x7L << PACKED_SHIFT_SA1N; // overflow, remaining bits zero
+
+        long p = sa1N - SA1N_MIN; // 3 bits
+        int bitsLeft = PACKED_SHIFT_SA1N;
+        int d = 0;
+        for( ; d < sa1N; ++d ) p = p << 6 | numericBytes[d]; // fits, as sa1N is at most PACKED_DIGITS_MAX
+        bitsLeft -= 6 * sa1N;
+        final int sa2N = sa2End - sa1N;
+        bitsLeft -= 4;
+        if( sa2N - 1 >= 0xF ) return (p << 4 | 0xF) << bitsLeft; // overflow, remaining bits zero
+
+        p = p << 4 | (sa2N - 1); // 4 bits
+        for( ; d < sa2End && bitsLeft >= 6; ++d, bitsLeft -= 6 ) p = p << 6 | numericBytes[d];
+        if( d < sa2End && bitsLeft > 0 ) // then truncate the next digit to fit
+        {
+            p = p << bitsLeft | numericBytes[d] >>> 6 - bitsLeft;
+            bitsLeft = 0;
+        }
+        return p << bitsLeft; // padding
+    }
+
+        private static final int PACKED_SHIFT_SA1N = PACKED_BITS - 3;
+          // position of the low order bit of the sa1 length
 
 
 
@@ -343,19 +506,49 @@ public @ThreadSafe class ID implements TriSerialID
 
     final void toTriSerialString( final StringBuilder out )
     {
-        final int sa2End = numericBytes.length - 1; // end bound (index of last+1) in sub-array 2
-        final int sa1N = numericBytes[sa2End] - SA1N_ENCODER; // end bound in sub-array 1, start index in 2
+        final byte[] bytes = numericBytes();
+        final int sa2End = bytes.length - 1; // end bound (index of last+1) in sub-array 2
+        final int sa1N = bytes[sa2End] - SA1N_ENCODER; // end bound in sub-array 1, start index in 2
 
-        toTriSerialString( 0, sa1N, out );
+        toTriSerialString( bytes, 0, sa1N, out );
         out.append( '-' );
-        toTriSerialString( sa1N, sa2End, out );
+        toTriSerialString( bytes, sa1N, sa2End, out );
     }
 
 
-        private void toTriSerialString( int d, final int dEnd, final StringBuilder out )
+        private static void toTriSerialString( final byte[] bytes, int d, final int dEnd,
+          final StringBuilder out )
+        {
+            do out.append(RADIX_62_STRING.charAt(bytes[d++])); while( d < dEnd );
+        }
+
+
+
+    /** Returns the given serial numbers unpacked to a new array.
+      *
+      *     @see #pack(byte[])
+      */
+    private static byte[] unpack( final long p )
+    {
+        int shift = PACKED_SHIFT_SA1N;
+        final int sa1N = (int)(p >>> shift & 0x7) + SA1N_MIN;
+        final int sa2N = (int)(p >>> shift - 6 * sa1N - 4 & 0xF) + 1;
+        final byte[] bytes = new byte[sa1N + sa2N + 1];
+        int d = 0;
+        for( ; d < sa1N; ++d )
         {
-            do out.append(RADIX_62_STRING.charAt(numericBytes[d++])); while( d < dEnd );
+            shift -= 6;
+            bytes[d] = (byte)(p >>> shift & 0x3F);
         }
+        shift -= 4;
+        for( final int dEnd = sa1N + sa2N; d < dEnd; ++d )
+        {
+            shift -= 6;
+            bytes[d] = (byte)(p >>> shift & 0x3F);
+        }
+        bytes[d] = (byte)(sa1N + SA1N_ENCODER);
+        return bytes;
+    }
 
 
         /* * *
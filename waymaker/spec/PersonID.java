@@ -22,14 +22,15 @@ public final class PersonID extends UDID implements VotingID
       */
 
 
-    /** Constructs a PersonID by parsing an identity tag in basic, {@linkplain
-      * #toTriSerialString(StringBuilder) unscoped string form}.
+    /** Returns an {@linkplain UDID#intern(UDID) interned} PersonID by parsing an identity tag in basic,
+      * {@linkplain #toTriSerialString(StringBuilder) unscoped string form}.  The string may be any
+      * character sequence, such as a {@linkplain waymaker.gen.CharSequenceOnBytes view of raw bytes}.
       *
       *     @see #toTriSerialScopedString(StringBuilder)
       */
-    public PersonID( final String basicString ) throws MalformedID
+    public static PersonID make( final CharSequence basicString ) throws MalformedID
     {
-        super( basicString, basicString.length() );
+        return intern( new PersonID( basicString, basicString.length() ));
     }
 
 
@@ -43,13 +44,21 @@ public final class PersonID extends UDID implements VotingID
 
 
 
+    /** Constructs a PersonID from the packed form of its serial numbers.
+      *
+      *     @see #packedNumerically()
+      */
+    PersonID( long _packedNumerically ) { super( _packedNumerically ); }
+
+
+
     /** Constructs a PersonID by parsing an identity tag in basic, {@linkplain
       * #toTriSerialString(StringBuilder) unscoped string form}.
       *
       *     @param _cN The length of the substring to parse, beginning at index 0 in the string.
       *     @see #toTriSerialScopedString(StringBuilder)
       */
-    PersonID( String _string, int _cN ) throws MalformedID { super( _string, _cN ); }
+    PersonID( CharSequence _string, int _cN ) throws MalformedID { super( _string, _cN ); }
 
 
 
@@ -11,14 +11,15 @@ public final class PipeID extends UDID implements VotingID
 ///////
 
 
-    /** Constructs a PipeID by parsing an identity tag in basic, {@linkplain
-      * #toTriSerialString(StringBuilder) unscoped string form}.
+    /** Returns an {@linkplain UDID#intern(UDID) interned} PipeID by parsing an identity tag in basic,
+      * {@linkplain #toTriSerialString(StringBuilder) unscoped string form}.  The string may be any
+      * character sequence, such as a {@linkplain waymaker.gen.CharSequenceOnBytes view of raw bytes}.
       *
       *     @see #toTriSerialScopedString(StringBuilder)
       */
-    public PipeID( final String basicString ) throws MalformedID
+    public static PipeID make( final CharSequence basicString ) throws MalformedID
     {
-        super( basicString, basicString.length() );
+        return intern( new PipeID( basicString, basicString.length() ));
     }
 
 
@@ -32,13 +33,21 @@ public final class PipeID extends UDID implements VotingID
 
 
 
+    /** Constructs a PipeID from the packed form of its serial numbers.
+      *
+      *     @see #packedNumerically()
+      */
+    PipeID( long _packedNumerically ) { super( _packedNumerically ); }
+
+
+
     /** Constructs a PipeID by parsing an identity tag in basic, {@linkplain
       * #toTriSerialString(StringBuilder) unscoped string form}.
       *
       *     @param _cN The length of the substring to parse, beginning at index 0 in the string.
       *     @see #toTriSerialScopedString(StringBuilder)
       */
-    PipeID( String _string, int _cN ) throws MalformedID { super( _string, _cN ); }
+    PipeID( CharSequence _string, int _cN ) throws MalformedID { super( _string, _cN ); }
 
 
 
@@ -1,6 +1,8 @@
 package waymaker.spec; // Copyright © 2015 Michael Allan.  Licence MIT.
 
+import java.lang.ref.WeakReference;
 import java.util.Comparator;
+import java.util.WeakHashMap;
 
 
 /** The implementation of a universally decisive, tri-serial identity tag.
@@ -18,7 +20,23 @@ public abstract class UDID extends ID implements TriSerialUDID
       *
       *     @see #numericBytes()
       */
-    UDID( byte[] _numericBytes ) { super( _numericBytes ); }
+    UDID( byte[] _numericBytes )
+    {
+        super( _numericBytes );
+        sortKey = sortKey();
+    }
+
+
+
+    /** Super-constructs a UDID from the packed form of its serial numbers.
+      *
+      *     @see #packedNumerically()
+      */
+    UDID( long _packedNumerically )
+    {
+        super( _packedNumerically );
+        sortKey = sortKey();
+    }
 
 
 
@@ -28,7 +46,11 @@ public abstract class UDID extends ID implements TriSerialUDID
       *     @param _cN The length of the substring to parse, beginning at index 0 in the string.
       *     @see #toTriSerialScopedString(StringBuilder)
       */
-    UDID( String _string, int _cN ) throws MalformedID { super( _string, _cN ); }
+    UDID( CharSequence _string, int _cN ) throws MalformedID
+    {
+        super( _string, _cN );
+        sortKey = sortKey();
+    }
 
 
 
@@ -54,40 +76,59 @@ public abstract class UDID extends ID implements TriSerialUDID
 
 
 
-    /** Constructs a UDID by parsing an identity tag in {@linkplain
-      * #toTriSerialScopedString(StringBuilder) scoped string form}.
+    /** Returns an {@linkplain #intern(UDID) interned} UDID by parsing an identity tag in {@linkplain
+      * #toTriSerialScopedString(StringBuilder) scoped string form}.  The string may be any character
+      * sequence, such as a {@linkplain waymaker.gen.CharSequenceOnBytes view of raw bytes}, sparing the
+      * allocation of a string.
+      *
+      *     @see #makeOrNull(CharSequence)
       */
-    public static UDID make( final String scopedString ) throws MalformedID
+    public static UDID make( final CharSequence scopedString ) throws MalformedID
     {
-        final int cLast = scopedString.length() - 1;
-        final char charLast = scopedString.charAt( cLast );
-        if( charLast == 'e' )
-        {
-            final String scope = PipeID.SCOPE; // expected
-            final int remainingLength = scope.length() - 1; // remaining to compare
-            final int cScope = cLast - remainingLength; // start of scope in scopedString
-            if( scopedString.regionMatches( cScope, scope, 0, remainingLength ))
-            {
-                final int cDash = cScope - 1;
-                if( scopedString.charAt(cDash) == '-' ) return new PipeID( scopedString, cDash );
-            }
-        }
-        else if( charLast == 'n' )
+        int cN = basicLength( scopedString, PipeID.SCOPE );
+        if( cN >= 0 ) return intern( new PipeID( scopedString, cN ));
+
+        cN = basicLength( scopedString, PersonID.SCOPE );
+        if( cN >= 0 ) return intern( new PersonID( scopedString, cN ));
+
+        throw new MalformedID( "Bad scope suffix", scopedString.toString() );
+    }
+
+
+
+    /** Returns an {@linkplain #intern(UDID) interned} UDID by parsing an identity tag as per
+      * {@linkplain #make(CharSequence) make}(scopedString), or null if the identity tag is malformed.
+      * Unlike make, this method reports malformation without the expense of throwing an exception.
+      */
+    public static UDID makeOrNull( final CharSequence scopedString )
+    {
+        try
         {
-            final String scope = PersonID.SCOPE; // expected
-            final int remainingLength = scope.length() - 1; // remaining to compare
-            final int cScope = cLast - remainingLength; // start of scope in scopedString
-            if( scopedString.regionMatches( cScope, scope, 0, remainingLength ))
-            {
-                final int cDash = cScope - 1;
-                if( scopedString.charAt(cDash) == '-' ) return new PersonID( scopedString, cDash );
-            }
+            int cN = basicLength( scopedString, PipeID.SCOPE );
+            if( cN >= 0 ) return isTriSerialForm(scopedString,cN)? intern(new PipeID(scopedString,cN)): null;
+
+            cN = basicLength( scopedString, PersonID.SCOPE );
+            if( cN >= 0 ) return isTriSerialForm(scopedString,cN)? intern(new PersonID(scopedString,cN)): null;
         }
-        throw new MalformedID( "Bad scope suffix", scopedString );
+        catch( final MalformedID x ) { throw new AssertionError( x ); } // already tested for
+
+        return null;
     }
 
 
 
+    /** Returns the scope and serial numbers of this identity tag packed in a single, non-negative long,
+      * or {@linkplain #NOT_PACKED NOT_PACKED} if they are too long to pack.  UDIDs that both have a
+      * packed form are equal if and only if their packed forms are equal, and ordered {@linkplain
+      * #compareUniversally(TriSerialUDID) universally} as their packed forms are ordered.  The packed
+      * form is thus suited for use as a primitive key.
+      *
+      *     @see #packedNumerically()
+      */
+    public final long packedUniversally() { return packedNumerically() == NOT_PACKED? NOT_PACKED: sortKey; }
+
+
+
    // - C o m p a r a b l e ----------------------------------------------------------------------------
 
 
@@ -113,7 +154,7 @@ public abstract class UDID extends ID implements TriSerialUDID
         if( !(o instanceof TriSerialUDID) /*or if null*/ ) return false;
 
         final UDID oUDID = (UDID)o; // all TriSerialUDID implemented as UDID
-        if( scopeByte() != oUDID.scopeByte() ) return false;
+        if( sortKey != oUDID.sortKey ) return false; // differing either in scope or serial numbers
 
         return equalsNumerically( oUDID );
     }
@@ -134,6 +175,19 @@ public abstract class UDID extends ID implements TriSerialUDID
 //// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
 
 
+    /** Returns the length of the basic, unscoped string form at the start of the given scoped string,
+      * or -1 if the scoped string lacks a suffix of a dash followed by the given scope.
+      */
+    private static int basicLength( final CharSequence scopedString, final String scope )
+    {
+        final int cDash = scopedString.length() - scope.length() - 1;
+        if( cDash < 0 || scopedString.charAt(cDash) != '-' ) return -1;
+
+        return regionMatches( scopedString, cDash + 1, scope, scope.length() )? cDash: -1;
+    }
+
+
+
     /** Compares this identity tag to the other based on both its scope and serial numbers.  Does no
       * preliminary "other == this" short cutting, but instead lets the caller do that.
       *
@@ -143,8 +197,13 @@ public abstract class UDID extends ID implements TriSerialUDID
       */
     final int compareUniversally( final TriSerialUDID _other )
     {
-        final UDID other = (UDID)_other; // gain accesss to package-protected scopeByte for faster comparison
-        int result = Byte.compare( scopeByte(), other.scopeByte() ); // or throws NullPointerException
+        final UDID other = (UDID)_other; // gain accesss to package-protected members for faster comparison
+        final long otherSortKey = other.sortKey; // or throws NullPointerException
+        if( sortKey != otherSortKey ) return Long.compare( sortKey, otherSortKey );
+
+        if( packedNumerically() != NOT_PACKED ) return 0; // sort key is whole, ∴ other is equal
+
+        int result = Byte.compare( scopeByte(), other.scopeByte() );
         assert Integer.signum(result) == Integer.signum(scope().compareTo(other.scope()));
           // byte-form comparisons are consistent with name form, as name alone is canonical
         if( result == 0 ) result = compareNumerically( other );
@@ -153,8 +212,52 @@ public abstract class UDID extends ID implements TriSerialUDID
 
 
 
-    /** Constructs a UDID by adopting a byte array that encodes its serial numbers.  The new identity tag
-      * will thenceforth own the given array; do not alter its contents.
+    /** Returns the canonical instance of the given identity tag, which is either the identity tag itself
+      * or an equal one that was interned earlier.  Equal identity tags that are interned will share the
+      * same instance for as long as any is referenced, so saving memory and allowing comparison by
+      * identity.  The pool holds its instances weakly, leaving them free for garbage collection.
+      */
+    static <U extends UDID> U intern( final U id )
+    {
+        final WeakHashMap<UDID,WeakReference<UDID>> stripe = internPool[id.hashCode() >>> INTERN_STRIPE_SHIFT];
+        synchronized( stripe ) // locking only the stripe, so sparing contention among precount threads
+        {
+            final WeakReference<UDID> ref = stripe.get( id );
+            if( ref != null )
+            {
+                final UDID canon = ref.get();
+                if( canon != null )
+                {
+                    @SuppressWarnings("unchecked") final U u = (U)canon; // equal, ∴ of same class
+                    return u;
+                }
+            }
+
+            stripe.put( id, new WeakReference<UDID>( id ));
+            return id;
+        }
+    }
+
+
+        private static final int INTERN_STRIPE_SHIFT = 32 - 4; // selecting a stripe by the top 4 bits of
+          // the hash code, which are well mixed and independent of the bucket index within the stripe
+
+
+        private static final WeakHashMap<UDID,WeakReference<UDID>>[] internPool; /* Striped by hash code,
+          each stripe with weak values too, else each would strongly reach its own key. */
+        static
+        {
+            @SuppressWarnings("unchecked") final WeakHashMap<UDID,WeakReference<UDID>>[] pool =
+              new WeakHashMap[1 << (32 - INTERN_STRIPE_SHIFT)];
+            for( int p = pool.length - 1; p >= 0; --p ) pool[p] = new WeakHashMap<>();
+            internPool = pool;
+        }
+
+
+
+    /** Returns an {@linkplain #intern(UDID) interned} UDID by adopting a byte array that encodes its
+      * serial numbers.  Unless an equal UDID is already interned, the new identity tag will thenceforth
+      * own the given array; do not alter its contents.
       *
       *     @see #scopeByte()
       *     @see #numericBytes()
@@ -166,7 +269,41 @@ public abstract class UDID extends ID implements TriSerialUDID
         else if( scopeByte == PersonID.SCOPE_BYTE ) id = new PersonID( numericBytes );
         else throw new IllegalArgumentException( "Bad scope byte: " + scopeByte );
 
-        return id;
+        return intern( id );
+    }
+
+
+
+    /** Returns an {@linkplain #intern(UDID) interned} UDID from its packed form.
+      *
+      *     @param packedUniversally A {@linkplain #packedUniversally() universally packed form} other
+      *       than NOT_PACKED.
+      */
+    static UDID make( final long packedUniversally )
+    {
+        final byte scopeByte = (byte)(packedUniversally >>> PACKED_SHIFT_SCOPE);
+        final long p = packedUniversally & ~(-1L << PACKED_SHIFT_SCOPE); // serial numbers alone
+        final UDID id;
+        if( scopeByte == PipeID.SCOPE_BYTE ) id = new PipeID( p );
+        else if( scopeByte == PersonID.SCOPE_BYTE ) id = new PersonID( p );
+        else throw new IllegalArgumentException( "Bad scope byte: " + scopeByte );
+
+        return intern( id );
+    }
+
+
+
+    /** Answers whether the region of string s beginning at index c matches the leading region of string
+      * t of length cN, as per String.{@linkplain String#regionMatches(int,String,int,int)
+      * regionMatches}.
+      */
+    private static boolean regionMatches( final CharSequence s, int c, final String t, final int cN )
+    {
+        if( c < 0 || c + cN > s.length() ) return false;
+
+        for( int d = 0; d < cN; ++c, ++d ) if( s.charAt(c) != t.charAt(d) ) return false;
+
+        return true;
     }
 
 
@@ -183,6 +320,27 @@ public abstract class UDID extends ID implements TriSerialUDID
 
 
 
+    /** The order-preserving key of this identity tag.  Identity tags with unequal sort keys are ordered
+      * {@linkplain #compareUniversally(TriSerialUDID) universally} as their sort keys are ordered.
+      * Where the serial numbers are {@linkplain #packedNumerically() packed}, the sort key is also
+      * unique to the identity tag.  It then equals the {@linkplain #packedUniversally() universally
+      * packed form}, else it holds the leading part of that form as if it had no limit on its length.
+      */
+    private final long sortKey;
+
+
+        private long sortKey() // for construction only
+        {
+            long p = packedNumerically();
+            if( p == NOT_PACKED ) p = packPrefix( numericBytes() );
+            return (long)scopeByte() << PACKED_SHIFT_SCOPE | p; // scopeByte being a constant of subclass
+        }
+
+
+        private static final int PACKED_SHIFT_SCOPE = 61; // scope in the two bits reserved by ID
+
+
+
     /** Outputs a {@linkplain #toTriSerialString(StringBuilder) tri-serial string} suffixed by a
       * {@linkplain #scope() scope string}.
       */
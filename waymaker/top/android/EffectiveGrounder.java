@@ -1,7 +1,5 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import waymaker.gen.*;
-
 
 /** A searcher for an effective ground between two candidate nodes.  An effective ground is a
   * node common to the root paths of both candidates, inclusive of those candidates.  It may
@@ -14,37 +12,31 @@ import waymaker.gen.*;
   * <p>This guarantee of flow invariance rests on the assumption that the would-be voter is part of no
   * barred cycle at present, and none after the vote shift.  The consequences of invalidating this
   * assumption are unknown.</p>
-  *
-  * <p>Do not hold an instance of EffectiveGrounder indefinitely.  It retains the contents of its path
-  * buffers for sake of speed, which may cause old forests to be witheld from the garbage collector.</p>
   */
-public final @Warning("no hold") class EffectiveGrounder
+public final class EffectiveGrounder
 {
 
 
-    /** Returns an effective ground between the two candidate nodes.  If the two nodes are
-      * actually the same node, then normally that node is returned.  The returned node is
-      * not guaranteed, however, to be the leafmost effective ground; if the two paths are very long,
-      * then a more rootward one may be returned instead.
+    /** Returns the leafmost effective ground between the two candidate nodes.  If the two nodes are
+      * actually the same node, then that node is returned.  The search climbs the two root paths in
+      * step, beginning at equal depths, so it takes time in proportion to the length of the longer
+      * path and needs no path storage.
       */
-    public PrecountNode effectiveGround( final PrecountNode candidateA, final PrecountNode candidateB )
+    public PrecountNode effectiveGround( PrecountNode candidateA, PrecountNode candidateB )
     {
-        try
+        int dA = depth( candidateA );
+        int dB = depth( candidateB );
+        for( ; dA > dB; --dA ) candidateA = candidateA.rootwardInThis().candidate(); // level the
+        for( ; dB > dA; --dB ) candidateB = candidateB.rootwardInThis().candidate(); // two paths
+        while( candidateA != candidateB ) // paths still diverged
         {
-            store( candidateA, pathA, pA ); // store root paths to enable reverse, leafward traversal
-            PrecountNode gE = store( candidateB, pathB, pB ); /* init gE (effective ground) to
-              actual ground; it's certainly common to both paths, so begin there */
-            while( pA.size() > 0 && pB.size() > 0 )
-            {
-                final PrecountNode nod = pathA[pA.unwriting()]; // pop the rootmost remaining nod
-                if( nod != pathB[pB.unwriting()] ) break; // nod missing from B, paths have diverged
+            final RootwardCast<PrecountNode> castA = candidateA.rootwardInThis();
+            if( castA == null ) return candidateB; // actual ground, certainly common to both paths
 
-                gE = nod; // nod is common to both, paths are still converged
-            }
-            return gE;
+            candidateA = castA.candidate(); // move both rootward
+            candidateB = candidateB.rootwardInThis().candidate();
         }
-        finally { pA.clear(); pB.clear(); } /* Clearing indeces alone for speed.  Retaining garbage in
-          buffers, which may cause old forests to be witheld.  Hence "no hold". */
+        return candidateA;
     }
 
 
@@ -52,46 +44,20 @@ public final @Warning("no hold") class EffectiveGrounder
 //// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
 
 
-    private static final int PATH_CAPACITY = 15; // guess, uncertain what tree heights to expect in practice
-
-
-
-    private final PrecountNode[] pathA = new PrecountNode[PATH_CAPACITY]; // ring buffer
-
-        private final CircularIndeces pA = new CircularIndeces( PATH_CAPACITY ); // to use as overflowing stack
-
-        // not using ArrayList for storage because it clears laboriously, nulling each element
-
-
-
-    private final PrecountNode[] pathB = new PrecountNode[PATH_CAPACITY];
-
-        private final CircularIndeces pB = new CircularIndeces( PATH_CAPACITY );
-
-
-
-    /** Stores the candidate path from nod (inclusive) to the root (inclusive) and returns the actual
-      * ground beneath the root; or, if the path length would exceed PATH_CAPACITY, then stores just the
-      * rootward part.  Stores nothing (length zero) if the node itself is the actual ground.
-      *
-      *     @return The actual ground.
+    /** Returns the number of casts on the candidate path from nod (inclusive) to the actual ground,
+      * which is zero if the node itself is the actual ground.
       */
-    private static PrecountNode store( PrecountNode nod, final PrecountNode[] path,
-      final CircularIndeces p )
+    private static int depth( PrecountNode nod )
     {
-        assert p.size() == 0;
-        for( ;; ) // each node on root path
+        int d = 0;
+        for( ;; ++d ) // each node on root path
         {
             final RootwardCast<PrecountNode> cast = nod.rootwardInThis();
-            if( cast == null ) return nod; // actual ground
+            if( cast == null ) return d; // actual ground
 
-            path[p.writingOver()] = nod; // push, overflowing leafmost node if necessary
             nod = cast.candidate(); // move rootward
         }
     }
 
 
 }
-
-
-
@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import java.util.List;
 import waymaker.gen.*;
 import waymaker.spec.VotingID;
@@ -52,7 +51,7 @@ public final class Forest implements PeersReceiver
       *     @param inP The parceled state to restore.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.startCtorRestore
-    public Forest( final String pollName, final ForestCache forestCache, final Parcel inP )
+    public Forest( final String pollName, final ForestCache forestCache, final StateIn inP )
     {
         this.pollName = pollName;
         this.forestCache = forestCache;
@@ -108,7 +107,7 @@ public final class Forest implements PeersReceiver
 
         private static final Object nodeCache_stator = stators.add( new StateSaver<Forest>()
         {
-            public void save( final Forest f, final Parcel out )
+            public void save( final Forest f, final StateOut out )
             {
               // 1. Size.
               // - - - - -
@@ -161,6 +160,20 @@ public final class Forest implements PeersReceiver
         ApplicationX.i().handler().post( new Runnable()
         {
             public void run() // on application main thread
+            {
+                final NodeCache1 nC = nodeCache;
+                if( !nC.unadjustedLock.tryLock() ) // then a refresh is copying the nodes
+                {
+                    ApplicationX.i().handler().postDelayed( this, 50/*ms*/ ); /* retry later, rather than
+                      wait, or spin on the looper and so starve its other messages */
+                    return;
+                }
+
+                try { runLocked(); }
+                finally { nC.unadjustedLock.unlock(); }
+            }
+
+            private void runLocked()
             {
                 /* * *
                 - much of what follows is still pseudo code in extended comments (such as this)
@@ -188,6 +201,7 @@ public final class Forest implements PeersReceiver
               // Extend with unadjusted voters from response.
               // - - - - - - - - - - - - - - - - - - - - - - -
                 boolean areVotersChanged = false;
+                nodeCache.unadjustedChanged(); // lest a committed precount be reused for the changed state
                 /* * *
                 - for each peer in response
                     - if peer reveals serial inconstency (RepocastSer)
@@ -250,15 +264,13 @@ public final class Forest implements PeersReceiver
                     final PrecountNode candidatePre = candidateUna.precounted();
                     if( candidatePre != null )
                     {
-                        final List<PrecountNode1> outlyingVoters = nodeCache.outlyingVotersPre();
+                        final List<PrecountNode1> outlyingVoters = nodeCache.delistOutlyingVoters( candidatePre );
+                          // no longer outlying
                         for( int v = outlyingVoters.size() - 1; v >= 0; --v )
                         {
                             final PrecountNode outlyingVoter = outlyingVoters.get( v );
-                            if( outlyingVoter.rootwardInThis().candidate() != candidatePre ) continue;
-
                             assert outlyingVoter.peerOrdinal() == 0; // major voter, okay for initial extension
                             candidatePre.enlistVoter( outlyingVoter );
-                            ListX.removeUroboros( v, outlyingVoters ); // no longer outlying
                             areVotersChanged = true;
                         }
                     }
@@ -1,14 +1,14 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
 import android.content.ContentResolver;
-import android.database.Cursor;
 import android.net.Uri;
-import android.os.Parcel;
-import android.provider.DocumentsContract; // grep DocumentsContract-TS
+import android.os.SystemClock;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import waymaker.gen.*;
+import waymaker.spec.MalformedID;
 
-import static android.provider.DocumentsContract.Document.MIME_TYPE_DIR;
 import static java.util.logging.Level.WARNING;
 
 
@@ -25,13 +25,14 @@ public final class ForestCache implements Refreshable
 ///////
 
 
-    /** Constructs a ForestCache.
+    /** Constructs a ForestCache, taking any forests that were persistently stored.  It opens the store
+      * in the background, and thereafter refreshes from the local wayrepo.
       */
     public @Warning("wr co-construct") ForestCache( final Wayranging wr )
     {
         forestMap = new HashMap<>( 10, MapX.HASH_LOAD_FACTOR );
         init( wr );
-        refreshFromLocalWayrepo();
+        openStoreInBackground();
     }
 
 
@@ -41,7 +42,7 @@ public final class ForestCache implements Refreshable
       *     @param inP The parceled state to restore.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.startCtorRestore
-    public @Warning("wr co-construct") ForestCache( final Parcel inP, final Wayranging wr )
+    public @Warning("wr co-construct") ForestCache( final StateIn inP, final Wayranging wr )
     {
         int s = stators.startCtorRestore( this, inP );
 
@@ -49,25 +50,34 @@ public final class ForestCache implements Refreshable
       // - - - - - - -
         assert stators.get(s++) == forestMap_stator;
         {
-          // 1.
-          // - - -
+          // 1. Header.
+          // - - - - - -
             final int size = inP.readInt();
+            final String[] pollNames = new String[size];
+            final int[] lengths = new int[size];
+            for( int f = 0; f < size; ++f )
+            {
+                pollNames[f] = inP.readString();
+                lengths[f] = inP.readInt();
+            }
 
-          // 2.
-          // - - -
+          // 2. Sections.
+          // - - - - - - -
+            final byte[] sections = inP.createByteArray();
             forestMap = new HashMap<>( MapX.hashCapacity(size + /*room to grow*/10), MapX.HASH_LOAD_FACTOR );
               // CtorRestore for this optimization of initial capacity based on saved state
-            for( int f = 0; f < size; ++f )
+            final SavedForest[] saveds = new SavedForest[size];
+            for( int f = 0, offset = 0; f < size; offset += lengths[f++] ) // offsets implied by lengths
             {
-              // 2a.
-              // - - -
-                final String pollName = inP.readString();
-
-              // 2b.
-              // - - -
-                final Forest forest = new Forest( pollName, this, inP );
-                forestMap.put( pollName, forest );
+                final SavedForest saved = new SavedForest( pollNames[f],
+                  ByteBuffer.wrap(sections,offset,lengths[f]).slice() );
+                saveds[f] = saved;
+                savedForestMap.put( saved.pollName, saved );
             }
+
+          // 3. Forests, each restored lazily on demand, or meantime in the background.
+          // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+            restoreInBackground( saveds );
         }
 
       // - - -
@@ -77,8 +87,24 @@ public final class ForestCache implements Refreshable
 
 
 
-    private void init( final Wayranging wr ) { wr.addRefreshable( this ); }
-      // no need to unregister from wr co-construct
+    private void init( final Wayranging wr )
+    {
+        this.wr = wr;
+        wr.addRefreshable( this ); // no need to unregister from wr co-construct
+        wr.lifeStageBell().register( new Auditor<Changed>() // "
+        {
+            public void hear( Changed _ding )
+            {
+                if( wr.lifeStage() != ActivityLifeStage.DESTROYING ) return;
+
+                refreshSeries.supersede(); /* Abandon any refresh, stopping its tasks.  A successor cache
+                  may yet reuse the precount results that it already committed. */
+                storeOpeningSeries.supersede(); // abandon any opening of the store
+                ApplicationX.i().handler().removeCallbacks( pendingRefreshStarter );
+                isRefreshPending = false;
+            }
+        });
+    }
 
 
 
@@ -92,11 +118,16 @@ public final class ForestCache implements Refreshable
       */
     public Forest getOrMakeForest( final String pollName )
     {
-        Forest forest = forestMap.get( pollName );
+        Forest forest = forestOrNull( pollName );
         if( forest == null )
         {
-            forest = new Forest( pollName, this );
-            forestMap.put( pollName, forest );
+            final SavedForest saved = isStoreOpening? openStored( pollName ): null; // ahead of the rest
+            if( saved != null ) forest = take( saved );
+            else
+            {
+                forest = new Forest( pollName, this );
+                forestMap.put( pollName, forest );
+            }
         }
         return forest;
     }
@@ -136,8 +167,8 @@ public final class ForestCache implements Refreshable
 
         static { stators.add( new Stator<ForestCache>()
         {
-            public void save( final ForestCache c, final Parcel out ) { out.writeString( c.refreshNote ); }
-            public void restore( final ForestCache c, final Parcel in ) { c.refreshNote = in.readString(); }
+            public void save( final ForestCache c, final StateOut out ) { out.writeString( c.refreshNote ); }
+            public void restore( final ForestCache c, final StateIn in ) { c.refreshNote = in.readString(); }
         });}
 
 
@@ -164,49 +195,147 @@ public final class ForestCache implements Refreshable
     /** Initiates the clearance of all cached data, plus a {@linkplain #refreshFromLocalWayrepo()
       * refresh from the local wayrepo}.  Eventually replaces the node cache of each forest and rings
       * the {@linkplain #nodeCacheBell() node cache bell}.  Posts user feedback as a single {@linkplain
-      * #refreshNote() refresh note}.
+      * #refreshNote() refresh note}.  Coalesces with other requests as for a local refresh, but
+      * subsumes them.
       */
-    public void refreshFromAllSources() { r1( /*toClear*/true ); }
+    public void refreshFromAllSources() { requestRefresh( /*toClear*/true ); }
 
 
 
     /** Initiates a refresh by {@linkplain Precounter precounting} from the user’s local wayrepo,
       * eventually replacing the node cache of each affected forest and ringing the {@linkplain
       * #nodeCacheBell() node cache bell}.  Skips the bell ringing if no forest was affected.  Posts
-      * user feedback as a single {@linkplain #refreshNote() refresh note}.
+      * user feedback as a single {@linkplain #refreshNote() refresh note}.  Skips the precount of any
+      * poll whose documents are unchanged since its last precount, as judged by their {@linkplain
+      * WayrepoIndex#fingerprint(String) fingerprint}, leaving its node cache as it is.
+      *
+      * <p>A request that arrives while a refresh is under way, or within {@value #REFRESH_WINDOW} ms of
+      * the start of one, is coalesced with any other such request into a single pending refresh.  The
+      * pending refresh starts once the current one is done, and the window is past.</p>
+      */
+    public void refreshFromLocalWayrepo() { requestRefresh( /*toClear*/false ); }
+
+
+
+    /** The window of time in milliseconds from the start of a refresh, during which further requests
+      * for refresh are coalesced.
       */
-    public void refreshFromLocalWayrepo() { r1( /*toClear*/false ); }
+    public static final int REFRESH_WINDOW = 1_500;
 
 
 
 //// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
 
 
-    private final HashMap<String,Forest> forestMap; // keyed by poll name
+    private final HashMap<String,Forest> forestMap; /* Keyed by poll name.  Excludes any forest yet pending
+      in savedForestMap. */
+
+
+
+    /** Returns the named forest from the forest map, first taking it from pending restoration if
+      * necessary, or returns null if there is no such forest.
+      */
+    private Forest forestOrNull( final String pollName )
+    {
+        Forest forest = forestMap.get( pollName );
+        if( forest == null )
+        {
+            final SavedForest saved = savedForestMap.remove( pollName );
+            if( saved != null ) forest = take( saved );
+        }
+        return forest;
+    }
+
+
+
+    /** The persistent store of forests, shared by all instances of ForestCache.
+      */
+    private static final ForestStore forestStore = new ForestStore( new java.io.File(
+      ApplicationX.i().getCacheDir(), ForestStore.class.getName() ));
+
+
+
+    private static final WorkScheduler storeScheduler = new WorkScheduler( ForestStore.class.getSimpleName(),
+      1, Thread.MIN_PRIORITY ); // for the I/O of forestStore, apart from refreshing and restoring
+
+
+
+    private final HashMap<String,Long> fingerprintMap = new HashMap<>(); /* Wayrepo fingerprint of
+      each poll whose latest precount is cached in its forest, keyed by poll name. */
+
+
+        static { stators.add( new Stator<ForestCache>()
+        {
+            public void save( final ForestCache c, final StateOut out )
+            {
+                final HashMap<String,Long> map = c.fingerprintMap;
+                out.writeInt( map.size() );
+                for( final Map.Entry<String,Long> entry: map.entrySet() )
+                {
+                    out.writeString( entry.getKey() );
+                    out.writeLong( entry.getValue() );
+                }
+            }
+            public void restore( final ForestCache c, final StateIn in )
+            {
+                final HashMap<String,Long> map = c.fingerprintMap;
+                for( int e = in.readInt(); e > 0; --e ) map.put( in.readString(), in.readLong() );
+            }
+        });}
 
 
         private static final Object forestMap_stator = stators.add( new StateSaver<ForestCache>()
         {
-            public void save( final ForestCache c, final Parcel out )
+            public void save( final ForestCache c, final StateOut out )
             {
-              // 1. Size.
-              // - - - - -
+              // 1. Header, each entry of a poll name and section length.
+              // - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
                 final Collection<Forest> forests = c.forestMap.values();
-                out.writeInt( forests.size() );
-
-              // 2. Map.
-              // - - - - -
+                final Collection<SavedForest> saveds = c.savedForestMap.values();
+                out.writeInt( forests.size() + saveds.size() );
+                final StateOnBuffer sections = new StateOnBuffer( /*initial capacity*/0x4000, /*isDirect*/false );
+                final String[] storeNames = new String[forests.size()];
+                final int[] storeOffsets = new int[storeNames.length];
+                final int[] storeLengths = new int[storeNames.length];
+                final HashSet<String> retainedNames = new HashSet<>( MapX.hashCapacity(
+                  forests.size() + saveds.size() ), MapX.HASH_LOAD_FACTOR );
+                int f = 0;
                 for( final Forest forest: forests )
                 {
-                  // 2a. Key.
-                  // - - - - -
-                    out.writeString( forest.pollName() );
-
-                  // 2b. Value.
-                  // - - - - - -
-                    Forest.stators.save( forest, out );
+                    final int start = sections.buffer().position();
+                    Forest.stators.save( forest, sections );
+                    final String pollName = forest.pollName();
+                    final int length = sections.buffer().position() - start;
+                    out.writeString( pollName );
+                    out.writeInt( length );
+                    final NodeCache1 nC = forest.nodeCache1();
+                    if( nC.nodeMap.size() <= 1 && nC.groundUna().precounted() == null ) continue;
+                      // ground alone, as when cleared, so not worth storing
+
+                    retainedNames.add( pollName );
+                    storeNames[f] = pollName;
+                    storeOffsets[f] = start;
+                    storeLengths[f] = length;
+                    ++f;
+                }
+                for( final SavedForest saved: saveds ) // unchanged since saved, so already stored
+                {
+                    final int start = sections.buffer().position();
+                    saved.writeSection( sections );
+                    out.writeString( saved.pollName );
+                    out.writeInt( sections.buffer().position() - start );
+                    retainedNames.add( saved.pollName );
                 }
 
+              // 2. Sections.
+              // - - - - - - -
+                final byte[] sectionsArray = sections.toByteArray();
+                out.writeByteArray( sectionsArray );
+
+              // 3. Store the forests persistently, too, from their sections.
+              // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+                c.storeInBackground( storeNames, f, sectionsArray, storeOffsets, storeLengths,
+                  c.isStoreOpening? null: retainedNames ); // retaining all while some may be yet unopened
             }
         });
 
@@ -216,13 +345,223 @@ public final class ForestCache implements Refreshable
 
 
 
-    private static Thread newWorkerThread( final String typeName, final int serial, final Runnable runnable )
+    /** Returns a device to open sources of the wayrepo at the given location.  A location of the
+      * ‘file’ scheme is read directly from the file system, else through the documents provider.
+      *
+      *     @see WaykitUI#wayrepoTreeLoc()
+      */
+    private static WayrepoSource.Opener wayrepoOpener( final String wayrepoTreeLoc,
+      final ContentResolver cResolver )
     {
-        final Thread t = new Thread( runnable,
-          ForestCache.class.getSimpleName() + " " + typeName + " worker " + serial );
-        t.setPriority( Thread.NORM_PRIORITY ); // or to limit of group
-        t.setDaemon( true );
-        return t;
+        final Uri wayrepoTreeUri = Uri.parse( wayrepoTreeLoc );
+        if( "file".equals( wayrepoTreeUri.getScheme() ))
+        {
+            return WayrepoFileSource.opener( new java.io.File( wayrepoTreeUri.getPath() ));
+        }
+
+        return WayrepoReader.opener( wayrepoTreeUri, cResolver );
+    }
+
+
+
+    /** The cache of the results of parsing wayrepo documents, shared by all precounts.
+      */
+    private static final WayrepoParseCache parseCache = new WayrepoParseCache( new java.io.File(
+      ApplicationX.i().getCacheDir(), WayrepoParseCache.class.getName() ));
+
+
+
+    private Wayranging wr; // final after init
+
+
+
+    private boolean isStoreOpening; // whether the store is yet being opened in the background
+
+
+
+    /** Schedules the opening of the persistent store on a background thread, which lists and maps the
+      * stored forests.  Joining back into "app main", it takes them as forests pending restoration,
+      * schedules their restoration, and starts a refresh from the local wayrepo.  Meanwhile a forest
+      * demanded by getOrMakeForest is opened on demand.
+      */
+    private void openStoreInBackground()
+    {
+        isStoreOpening = true;
+        storeScheduler.execute( new SupersedableTask( storeOpeningSeries.supersede() ) // grep TaskSync
+        {
+            private final ArrayList<String> pollNames = new ArrayList<>();
+
+            private final ArrayList<ForestStore.Stored> storeds = new ArrayList<>();
+
+            protected void runTask()
+            {
+                for( final String pollName: forestStore.pollNames() )
+                {
+                    if( token().isSuperseded() ) return; // cache destroyed, no longer wanted
+
+                    final ForestStore.Stored stored = forestStore.open( pollName );
+                    if( stored == null ) continue;
+
+                    pollNames.add( pollName );
+                    storeds.add( stored );
+                }
+                ApplicationX.i().handler().post( new TaskJoin( this )
+                {
+                    public void runAfterJoin() // on "app main", reading the lists above by TaskSync
+                    {
+                        final ArrayList<SavedForest> saveds = new ArrayList<>( pollNames.size() );
+                        for( int s = 0; s < pollNames.size(); ++s )
+                        {
+                            final String pollName = pollNames.get( s );
+                            if( forestMap.containsKey( pollName )) continue; // already taken on demand
+
+                            final ForestStore.Stored stored = storeds.get( s );
+                            final SavedForest saved = new SavedForest( pollName, stored.state() );
+                            saveds.add( saved );
+                            savedForestMap.put( pollName, saved );
+                            final long fingerprint = stored.fingerprint();
+                            if( fingerprint != WayrepoIndex.NO_FINGERPRINT )
+                            {
+                                fingerprintMap.put( pollName, fingerprint );
+                            }
+                        }
+                        isStoreOpening = false;
+                        restoreInBackground( saveds.toArray( new SavedForest[saveds.size()] ));
+                        refreshFromLocalWayrepo();
+                    }
+                });
+            }
+        });
+    }
+
+
+
+    /** Opens the stored state of the named forest, as for restoration on demand while the store is yet
+      * being opened in the background.
+      *
+      *     @return The forest as saved, or null if none is stored.
+      */
+    private SavedForest openStored( final String pollName )
+    {
+        final ForestStore.Stored stored = forestStore.open( pollName );
+        if( stored == null ) return null;
+
+        final long fingerprint = stored.fingerprint();
+        if( fingerprint != WayrepoIndex.NO_FINGERPRINT ) fingerprintMap.put( pollName, fingerprint );
+        return new SavedForest( pollName, stored.state() );
+    }
+
+
+
+    /** Schedules the restoring of the given forests on background threads, each forest that is not first
+      * restored on demand by a call to getOrMakeForest.
+      */
+    private void restoreInBackground( final SavedForest[] saveds )
+    {
+        final AtomicInteger sNext = new AtomicInteger(); // index of next forest to claim
+        final Runnable restorer = new Runnable()
+        {
+            public @ThreadSafe void run()
+            {
+                for( int s = sNext.getAndIncrement(); s < saveds.length; s = sNext.getAndIncrement() )
+                {
+                    saveds[s].forest();
+                }
+            }
+        };
+        for( int t = Math.min(saveds.length,RESTORE_THREADS_MAX); t > 0; --t ) restoreScheduler.execute( restorer );
+    }
+
+
+
+    /** The maximum number of threads to restore forests in the background.  It allows one thread per
+      * processor core less the core of "app main", but no more than four in all.
+      */
+    private static final int RESTORE_THREADS_MAX =
+      Math.max( 1, Math.min( Runtime.getRuntime().availableProcessors() - 1, 4 ));
+
+
+
+    private static final WorkScheduler restoreScheduler = new WorkScheduler( ForestCache.class.getSimpleName()
+      + " restore", RESTORE_THREADS_MAX, Thread.MIN_PRIORITY ); // yielding to "app main", which restores on demand
+
+
+
+    private final HashMap<String,SavedForest> savedForestMap = new HashMap<>(); /* Each forest of saved
+      state that is yet pending restoration to forestMap, keyed by poll name. */
+
+
+
+    private final TaskSeries storeOpeningSeries = new TaskSeries(); // superseded on destruction of cache
+
+
+
+    /** Schedules the writing of a snapshot of the cache to the persistent store on a background thread.
+      * The snapshot is stamped, so it leaves intact any part of the store that a later snapshot writes
+      * ahead of it.
+      *
+      *     @param pollNames The poll names of the forests to write, in the leading elements.
+      *     @param pN The number of forests to write.
+      *     @param sections An array that holds the state of each forest to write, among other sections.
+      *     @param offsets The index in the array at which each section to write begins.
+      *     @param lengths The length of each section to write.
+      *     @param retainedNames The poll names of all forests that the store is to retain, including
+      *       those to write.  The store drops any other forest, as one that has left the cache or been
+      *       cleared.  Null to retain every forest.
+      */
+    private void storeInBackground( final String[] pollNames, final int pN, final byte[] sections,
+      final int[] offsets, final int[] lengths, final Set<String> retainedNames )
+    {
+        final long stamp = forestStore.stamp(); // on "app main", so ordering the snapshots of all caches
+        final long[] fingerprints = new long[pN];
+        for( int f = 0; f < pN; ++f )
+        {
+            final Long fingerprint = fingerprintMap.get( pollNames[f] );
+            fingerprints[f] = fingerprint == null? WayrepoIndex.NO_FINGERPRINT: fingerprint;
+        }
+        storeScheduler.execute( new Runnable()
+        {
+            public @ThreadSafe void run()
+            {
+                for( int f = 0; f < pN; ++f )
+                {
+                    forestStore.write( pollNames[f], stamp, fingerprints[f], sections, offsets[f], lengths[f] );
+                }
+                if( retainedNames != null ) forestStore.retainOnly( retainedNames, stamp );
+            }
+        });
+    }
+
+
+
+    /** Schedules the deletion of the given forests from the persistent store on a background thread,
+      * unless meantime a later snapshot stores them anew.
+      */
+    private static void unstoreInBackground( final List<String> pollNames )
+    {
+        if( pollNames.size() == 0 ) return;
+
+        final long stamp = forestStore.stamp();
+        storeScheduler.execute( new Runnable()
+        {
+            public @ThreadSafe void run()
+            {
+                for( final String pollName: pollNames ) forestStore.delete( pollName, stamp );
+            }
+        });
+    }
+
+
+
+    /** Takes the given forest from pending restoration into the forest map, first restoring it if
+      * necessary.
+      */
+    private Forest take( final SavedForest saved )
+    {
+        final Forest forest = saved.forest();
+        forestMap.put( saved.pollName, forest );
+        if( saved.isDiscarded() ) fingerprintMap.remove( saved.pollName ); // lest its precount seem cached
+        return forest;
     }
 
 
@@ -230,20 +569,132 @@ public final class ForestCache implements Refreshable
    // ` r e f r e s h ``````````````````````````````````````````````````````````````````````````````````
 
 
+    private boolean isRefreshing; // whether a refresh is under way, from r1 through r5
+
+
+        /** Ends the refresh of the given token as abandoned, unless meantime it is superseded.  Call it
+          * at the end of a worker stage that neither carries the refresh on to a later stage nor completes
+          * it, as when the stage fails or aborts.
+          */
+        private @ThreadSafe void endAbandonedRefresh( final TaskSeries.Token token )
+        {
+            ApplicationX.i().handler().post( new Runnable()
+            {
+                public void run()
+                {
+                    if( token.isSuperseded() ) return; // a later refresh now owns isRefreshing
+
+                    logger.warning( "Refresh " + token.serial() + " ended without completing" );
+                    isRefreshing = false;
+                    startPendingRefresh();
+                }
+            });
+        }
+
+
+
+    /** Requests a refresh, either starting it or coalescing it into the pending refresh.
+      */
+    private void requestRefresh( final boolean toClear )
+    {
+        if( toClear ) pendingToClear = true; // subsuming any pending local refresh
+        if( isRefreshPending ) return; // coalesced with the request already pending
+
+        isRefreshPending = true;
+        if( isRefreshing ) return; // to start when the current refresh is done
+
+        startPendingRefresh();
+    }
+
+
+        private boolean isRefreshPending; // whether a coalesced request for refresh awaits its start
+
+
+        private boolean pendingToClear; // whether the pending refresh is to clear the cache
+
+
+        private long refreshStartTime = Long.MIN_VALUE / 2; // uptime in ms at latest r1, long ago if none
+
+
+
+    /** Starts the pending refresh, if any, unless the window of coalescence is still open.  In that case
+      * it schedules a later attempt.
+      */
+    private void startPendingRefresh()
+    {
+        if( !isRefreshPending ) return;
+
+        final long delay = refreshStartTime + REFRESH_WINDOW - SystemClock.uptimeMillis();
+        if( delay > 0 ) // then window is open, try again when it closes
+        {
+            if( !isStartPosted )
+            {
+                ApplicationX.i().handler().postDelayed( pendingRefreshStarter, delay );
+                isStartPosted = true;
+            }
+            return;
+        }
+
+        isRefreshPending = false;
+        final boolean toClear = pendingToClear;
+        pendingToClear = false;
+        r1( toClear );
+    }
+
+
+        private boolean isStartPosted; // whether pendingRefreshStarter is posted to run later
+
+
+        private final Runnable pendingRefreshStarter = new Runnable()
+        {
+            public void run()
+            {
+                isStartPosted = false;
+                if( !isRefreshing ) startPendingRefresh();
+            }
+        };
+
+
+
     /** @param toClear Whether to clear each forest’s node cache before the precount, extending the
       *   scope of refresh to include the cache of unadjusted nodes from the remote count server.
       */
     private void r1( final boolean toClear )
     {
+        isRefreshing = true;
+        refreshStartTime = SystemClock.uptimeMillis();
+
+      // Take into the forest map any forests yet pending restoration that the refresh must examine.
+      // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+        final WaykitUI wk = WaykitUI.i();
+        final String wayrepoTreeLoc = refreshWayrepoTreeLoc = wk.wayrepoTreeLoc();
+        if( savedForestMap.size() > 0 )
+        {
+            final boolean toLeaveFingerprinted = !toClear && wayrepoTreeLoc != null; /* Leave pending
+              any forest whose precount is cached with a wayrepo fingerprint.  A precount demand for its
+              poll will take it in r3, but only if the poll has changed.  This spares restoring all the
+              forests of the store at the start of the process.  Any whose poll has since vanished from
+              the wayrepo will be stripped only after it is otherwise taken. */
+            final Iterator<SavedForest> sS = savedForestMap.values().iterator();
+            while( sS.hasNext() )
+            {
+                final SavedForest saved = sS.next();
+                if( toLeaveFingerprinted && fingerprintMap.containsKey( saved.pollName )) continue;
+
+                sS.remove();
+                take( saved );
+            }
+        }
+
       // Coordinate with refresh series.
       // - - - - - - - - - - - - - - - - -
-        final int serial = ++refreshSerialLast; // flag to all prior tRefresh, "you're superceded"
-        if( tRefresh != null ) tRefresh.interrupt(); // tap on shoulder, "no longer wanted"
+        final TaskSeries.Token token = refreshSeries.supersede(); // flag to all prior refresh tasks,
+          // "you're superceded", interrupting any running
+        final int serial = token.serial();
 
       // Scope the general refresh demands that are determinable from "app main".
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
         final ArrayList<RefreshDemand> demands = new ArrayList<>();
-        KittedPolyStatorSR.openToThread(); // (a) before snapOriginalState (b) now in r1 and later in r3
         final boolean toStrip = !toClear; /* No use stripping if cache to be entirely cleared.  The
           only type of demand yet determinable is one that will later be converted to a precount demand
           if precounting is possible, or will otherwise default to a strip demand.  Therefore scope no
@@ -254,15 +705,13 @@ public final class ForestCache implements Refreshable
             if( nC.groundUna().precounted() != null ) // then must refresh, whether by precount or strip
             {
                 final RefreshDemand demand = new RefreshDemand( forest.pollName() );
-                demand.snapOriginalState( nC ); // (b) after (a)
+                demand.snapOriginalState( nC );
                 demands.add( demand );
             }
         }
 
       // Maybe skip straight to r5.
       // - - - - - - - - - - - - - -
-        final WaykitUI wk = WaykitUI.i();
-        final String wayrepoTreeLoc = wk.wayrepoTreeLoc();
         if( wayrepoTreeLoc == null && demands.size() == 0 ) // then can't precount & there's nothing to strip
         {
             // can only clear if requested, and finally post the obligatory note for user feedback:
@@ -273,97 +722,109 @@ public final class ForestCache implements Refreshable
 
       // Else make reference for use outside "app main".
       // - - - - - - - - - - - - - - - - - - - - - - - - -
-        final ContentResolver cResolver = wk.getContentResolver(); // grep ContentResolver-TS
+        final String pollFirst = wr.pollName().get(); // that the user is viewing, so to precount it first
+        final WayrepoSource.Opener wayrepoOpener = wayrepoTreeLoc == null? null:
+          wayrepoOpener( wayrepoTreeLoc, wk.getContentResolver() ); // grep ContentResolver-TS
+        final HashMap<String,Long> fingerprints = toClear? null: new HashMap<>( fingerprintMap );
+          // null when clearing, because then all must be precounted regardless
 
       // Start worker thread.
       // - - - - - - - - - - -
-        tRefresh = newWorkerThread( "r2t", serial, new Runnable() // grep StartSync
+        WorkScheduler.i().execute( new SupersedableTask( token ) // grep TaskSync
         {
-            public void run() { r2t( toClear, wayrepoTreeLoc, serial, demands, cResolver ); }
+            protected void runTask()
+            {
+                boolean isCarriedOn = false;
+                try { isCarriedOn = r2t( this, toClear, wayrepoOpener, demands, fingerprints, pollFirst ); }
+                finally { if( !isCarriedOn ) endAbandonedRefresh( token() ); } // as on failure
+            }
         });
-        tRefresh.start();
     }
 
 
-        private int refreshSerialLast; // write at start of refresh, thence test to prevent conflict
+        private final TaskSeries refreshSeries = new TaskSeries(); /* Supersede at start of refresh,
+          thence test to prevent conflict.  Its tasks are interrupted to conserve resources, otherwise
+          harmless running to completion. */
 
             static { stators.add( new Stator<ForestCache>()
             {
-                public void save( final ForestCache c, final Parcel out )
+                public void save( final ForestCache c, final StateOut out )
                 {
-                    out.writeInt( c.refreshSerialLast );
+                    out.writeInt( c.refreshSeries.serialLast() );
                 }
-                public void restore( final ForestCache c, final Parcel in )
+                public void restore( final ForestCache c, final StateIn in )
                 {
-                    c.refreshSerialLast = in.readInt();
+                    c.refreshSeries.serialLast( in.readInt() );
                 }
             });}
 
 
-        private Thread tRefresh; /* Parallel worker thread.  Interrupt to conserve resources.  Otherwise
-          harmless running to completion.  Null to garbage on termination. */
+        private String refreshWayrepoTreeLoc; // as read by r1, or null if none
 
 
 
     /** Spend effort of stage 2 using a worker thread.
+      *
+      *     @param pollFirst The name of the poll whose precount, if demanded, is to be done first.
+      *     @return True if the refresh was carried on to a later stage, false if it was aborted.
       */
-    private @ThreadSafe void r2t( final boolean toClear, final String wayrepoTreeLoc, final int serial,
-      final ArrayList<RefreshDemand> demands, final ContentResolver cResolver )
+    private @ThreadSafe boolean r2t( final SupersedableTask task, final boolean toClear,
+      final WayrepoSource.Opener wayrepoOpener, final ArrayList<RefreshDemand> demands,
+      final HashMap<String,Long> fingerprints, final String pollFirst )
     {
         final Thread t = Thread.currentThread();
+        final int serial = task.token().serial();
         final Holder1<Exception> failureH = new Holder1<>();
 
-      // Demand a precount for any poll that might have data in wayrepo (expensive test).
+      // Demand a precount for any poll that might have changed data in wayrepo (expensive test).
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
         final ArrayList<PrecountDemand> precountDemands = new ArrayList<>();
         int statelessDemandCount = 0; // precount demands that still require a snapshot of ground state
-        if( wayrepoTreeLoc != null )
+        WayrepoIndex _index = null; // thus far
+        if( wayrepoOpener != null )
         {
-            final Uri wayrepoTreeUri = Uri.parse( wayrepoTreeLoc );
-            try( final WayrepoReader inWr = new WayrepoReader( wayrepoTreeUri, cResolver ))
+            try
             {
-                String docID;
-                docID = DocumentsContract.getTreeDocumentId( wayrepoTreeUri );
-                docID = inWr.findDirectory( "poll", docID );
-                if( docID == null ) throw new WayrepoAccessFailure( "Missing 'poll' directory" );
-
-                try( final Cursor c/*proID_NAME_TYPE*/ = inWr.queryChildren( docID ); )
+                _index = new WayrepoIndex( wayrepoOpener ); // read once, shared by all precounters of refresh
+                for( final WayrepoIndex.Entry pollDirectory: _index.polls() )
                 {
-                    while( c.moveToNext() )
+                    final String dirName = pollDirectory.name();
+                    final long fingerprint = _index.fingerprint( dirName );
+                    final Long fingerprintCached = fingerprints == null? null: fingerprints.get( dirName );
+                    final boolean isUnchanged = fingerprintCached != null && fingerprintCached == fingerprint;
+                      // where fingerprintCached is never NO_FINGERPRINT
+
+                    // it may contain poll position files, so ensure a precount is demanded unless unchanged:
+                    for( int d = demands.size() - 1;; --d )
                     {
-                        if( !MIME_TYPE_DIR.equals( c.getString(2) )) continue;
-
-                        final String dirName = c.getString( 1 );
-                        if( !ServerCount.isPollNameForm( dirName ))
+                        if( d < 0 ) // then not already demanded
                         {
-                            logger.info( "Skipping wayrepo poll directory with malformed name: '" + dirName + "'" );
-                            continue;
+                            if( isUnchanged ) break; // no need of precount
+
+                            final PrecountDemand precountDemand = new PrecountDemand( /*pollName*/dirName );
+                            precountDemand.fingerprint = fingerprint;
+                            precountDemands.add( precountDemand );
+                            ++statelessDemandCount;
+                            break;
                         }
 
-                        // it may contain poll position files, so ensure a precount is demanded:
-                        for( int d = demands.size() - 1;; --d )
+                        final RefreshDemand demand = demands.get( d );
+                        if( demand.pollName.equals( dirName )) // then already demanded
                         {
-                            if( d < 0 ) // then not already demanded
-                            {
-                                precountDemands.add( new PrecountDemand( /*pollName*/dirName ));
-                                ++statelessDemandCount;
-                                break;
-                            }
-
-                            final RefreshDemand demand = demands.get( d );
-                            if( demand.pollName.equals( dirName )) // then already demanded
-                            {
-                                demands.remove( d ); // instead convert to precount demand:
-                                precountDemands.add( new PrecountDemand( demand ));
-                                assert demand.groundUnaState != null;
-                                  // so statelessDemandCount unchanged by this
-                                break;
-                            }
+                            demands.remove( d ); // instead convert to precount demand, unless unchanged
+                            if( isUnchanged ) break; // cached precount is still valid, so leave it
+
+                            final PrecountDemand precountDemand = new PrecountDemand( demand );
+                            precountDemand.fingerprint = fingerprint;
+                            precountDemands.add( precountDemand );
+                            assert demand.original != null;
+                              // so statelessDemandCount unchanged by this
+                            break;
                         }
                     }
                 }
             }
-            catch( final WayrepoAccessFailure x )
+            catch( final MalformedID|WayrepoAccessFailure x )
             {
                 logger.log( WARNING, "", x );
                 failureH.set( x );
@@ -372,9 +833,17 @@ public final class ForestCache implements Refreshable
             {
                 logger.info( "Aborting interrupted thread: " + t.getName() );
                 Thread.currentThread().interrupt(); // pass it on, just to be correct
-                return;
+                return false;
             }
         }
+        final WayrepoIndex index = _index;
+        for( int d = precountDemands.size() - 1; d > 0; --d ) // move any demand for pollFirst to the front
+        {
+            if( !precountDemands.get(d).pollName.equals( pollFirst )) continue;
+
+            precountDemands.add( 0, precountDemands.remove( d )); // so the first to be claimed in r4t
+            break;
+        }
 
       // Convert any remaining demands to strip demands and finish stripping their grounds (expensive).
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
@@ -384,7 +853,6 @@ public final class ForestCache implements Refreshable
         else
         {
             final ArrayList<StripDemand> strips = new ArrayList<>( /*initialCapacity*/sN );
-            KittedPolyStatorSR.openToThread(); // (a) before UnadjustedGround.restore (b)
             for( int s = 0; s < sN; ++s )
             {
                 final StripDemand strip = new StripDemand( demands.get( s ));
@@ -392,7 +860,7 @@ public final class ForestCache implements Refreshable
                 final NodeCache1 nC = new NodeCache1( strip.originalUnaCount,
                   /*hasPrecountAdjustments*/false/*they being stripped*/ );
                 strip.newNodeCache = nC;
-                nC.groundUna().restore( strip.groundUnaState, /*kit*/nC ); // (b) after (a)
+                strip.original.copyUnadjusted( nC.groundUna(), /*kit*/nC );
             }
             stripDemands = strips;
         }
@@ -412,19 +880,15 @@ public final class ForestCache implements Refreshable
             r3Wanted = false;
             r4tWanted = precountDemands.size() > 0;
         }
-        if( !r3Wanted && r4tWanted )
-        {
-            r4t( toClear, wayrepoTreeLoc, serial, precountDemands, stripDemands, cResolver, failureH );
-            return;
-        }
+        if( !r3Wanted && r4tWanted ) return r4t( task, toClear, index, precountDemands, stripDemands, failureH );
 
       // Else must join back into "app main" thread.
       // - - - - - - - - - - - - - - - - - - - - - - -
-        ApplicationX.i().handler().post( new MainJoin( /*threadToJoin*/t, serial )
+        ApplicationX.i().handler().post( new TaskJoin( task )
         {
-            public void runAfterJoin() // on "app main", reading r2t variables above by TermSync
+            public void runAfterJoin() // on "app main", reading r2t variables above by TaskSync
             {
-                if( r3Wanted ) r3( wayrepoTreeLoc, serial, precountDemands, stripDemands, failureH );
+                if( r3Wanted ) r3( index, task.token(), precountDemands, stripDemands, failureH );
                 else
                 {
                     assert !r4tWanted; // only r5 is left
@@ -432,96 +896,215 @@ public final class ForestCache implements Refreshable
                 }
             }
         });
+        return true;
     }
 
 
 
-    private void r3( final String wayrepoTreeLoc, final int serial, final List<PrecountDemand> precountDemands,
+    private void r3( final WayrepoIndex index, final TaskSeries.Token token,
+      final List<PrecountDemand> precountDemands,
       final List<StripDemand> stripDemands, final Holder1<Exception> failureH )
     {
+      // Yield to any pending refresh that would overrule the results of this one.
+      // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+        if( isRefreshPending && (pendingToClear
+          || !ObjectX.equals( WaykitUI.i().wayrepoTreeLoc(), refreshWayrepoTreeLoc )))
+        {
+            logger.info( "Abandoning refresh " + token.serial() + " before precount, yielding to pending refresh" );
+            isRefreshing = false;
+            startPendingRefresh();
+            return;
+        }
+
       // Take snapshot of unadjusted ground state for each precount demand.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
-     // KittedPolyStatorSR.openToThread(); // (a) before snapOriginalState (b)
-     /// already called in r1
         for( final PrecountDemand demand: precountDemands )
         {
-            if( demand.groundUnaState != null ) continue; // cached forest, snapshot already taken in r1
+            if( demand.original != null ) continue; // cached forest, snapshot already taken in r1
 
-            final Forest forest = forestMap.get( demand.pollName );
+            final Forest forest = forestOrNull( demand.pollName );
             if( forest == null ) continue; // will precount it from scratch
 
-            demand.snapOriginalState( forest.nodeCache1() ); // (b) after (a)
+            demand.snapOriginalState( forest.nodeCache1() );
         }
 
-      // Make reference for use outside "app main".
-      // - - - - - - - - - - - - - - - - - - - - - -
-        final ContentResolver cResolver = ApplicationX.i().getContentResolver(); // grep ContentResolver-TS
-
       // Start worker thread.
       // - - - - - - - - - - -
-        tRefresh = newWorkerThread( "r4t", serial, new Runnable() // grep StartSync
+        WorkScheduler.i().execute( new SupersedableTask( token ) // grep TaskSync
         {
-            public void run()
+            protected void runTask()
             {
-                r4t( /*toClear*/false, wayrepoTreeLoc, serial, precountDemands, stripDemands, cResolver,
-                  failureH );
+                boolean isCarriedOn = false;
+                try { isCarriedOn = r4t( this, /*toClear*/false, index, precountDemands, stripDemands, failureH ); }
+                finally { if( !isCarriedOn ) endAbandonedRefresh( token() ); } // as on failure
             }
         });
-        tRefresh.start();
     }
 
 
 
     /** Spend effort of stage 4 using a worker thread.
+      *
+      *     @return True if the refresh was carried on to a later stage, false if it was aborted.
       */
-    private @ThreadSafe void r4t( final boolean toClear, final String wayrepoTreeLoc, final int serial,
-      final List<PrecountDemand> precountDemands, final List<StripDemand> stripDemands,
-      final ContentResolver cResolver, final Holder1<Exception> failureH )
+    private @ThreadSafe boolean r4t( final SupersedableTask task, final boolean toClear,
+      final WayrepoIndex index, final List<PrecountDemand> precountDemands,
+      final List<StripDemand> stripDemands, final Holder1<Exception> failureH )
     {
         final Thread t = Thread.currentThread();
+        final int serial = task.token().serial();
 
       // Precount (expensive).
       // - - - - - - - - - - - -
-        if( !toClear) KittedPolyStatorSR.openToThread(); // (a) before (b)
-        for( final PrecountDemand demand: precountDemands )
+        final int dN = precountDemands.size();
+        final AtomicInteger dNext = new AtomicInteger(); // index of next demand to claim, shared by helpers
+        final SupersedableTask[] helpers =
+          new SupersedableTask[Math.max( 0, Math.min(dN,PRECOUNT_THREADS_MAX) - 1 )]; // parallel to task
+        for( int h = 0; h < helpers.length; ++h )
+        {
+            helpers[h] = new SupersedableTask( task.token() ) // sharing it, so superseded together
+            {
+                protected void runTask() { r4t_precount( token(), toClear, index, precountDemands, dNext ); }
+            };
+            WorkScheduler.i().execute( helpers[h] ); // grep TaskSync
+        }
+        r4t_precount( task.token(), toClear, index, precountDemands, dNext );
+        try
         {
+            task.token().checkpoint();
+            for( final SupersedableTask helper: helpers )
+            {
+                if( helper.withdraw() ) continue; // unstarted, its demands all claimed by others
+
+                helper.join(); // grep TaskSync, reading demand results
+            }
+        }
+        catch( InterruptedException _x )
+        {
+            logger.info( "Aborting superceded refresh " + serial + " in thread: " + t.getName() );
+            return false; // helpers too are superceded
+        }
+        parseCache.save();
+        for( final PrecountDemand demand: precountDemands ) // inform user of first failure, if any
+        {
+            final CountFailure failure = demand.precountFailure;
+            if( failure == null ) continue;
+
+            if( failureH.get() == null ) failureH.set( failure );
+            break;
+        }
+
+      // Join back into "app main" thread.
+      // - - - - - - - - - - - - - - - - - -
+        ApplicationX.i().handler().post( new TaskJoin( task )
+        {
+            public void runAfterJoin() // on "app main", reading r4t variables above by TaskSync
+            {
+                r5( toClear, serial, precountDemands, stripDemands, failureH.get() );
+            }
+        });
+        return true;
+    }
+
+
+
+    /** Precounts demanded polls one after another until none remain unclaimed, or the calling thread is
+      * interrupted.  Each demand is claimed by incrementing dNext, so the same list of demands may be
+      * precounted by several threads at once, each poll by a single thread.  Sets the results in
+      * demand.newNodeCache, or any failure in demand.precountFailure.  Publishes each result as soon as
+      * it is set, without waiting for the others.
+      */
+    private @ThreadSafe void r4t_precount( final TaskSeries.Token token, final boolean toClear,
+      final WayrepoIndex index, final List<PrecountDemand> precountDemands, final AtomicInteger dNext )
+    {
+        final Thread t = Thread.currentThread();
+        for( int d = dNext.getAndIncrement(), dN = precountDemands.size(); d < dN; d = dNext.getAndIncrement() )
+        {
+            if( t.isInterrupted() ) return; // refresh superceded, no longer wanted
+
+            final PrecountDemand demand = precountDemands.get( d );
             final String pollName = demand.pollName;
-            final byte[] groundUnaState = demand.groundUnaState;
+            final NodeCache1 original = demand.original;
             final int originalUnaCount = demand.originalUnaCount;
-            assert groundUnaState == null && originalUnaCount == 0 || !toClear;
-              // ground state is null when clearing, and when skipping restriction (a), as Precounter expects
-            final Precounter precounter = new Precounter( pollName, groundUnaState, originalUnaCount,
-              cResolver, wayrepoTreeLoc ); // (b) after (a), as per Precounter
+            assert original == null && originalUnaCount == 0 || !toClear; // no snapshot when clearing
+            final CommittedPrecount committed = committedPrecounts.get( pollName );
+            if( committed != null && committed.isReusableFor( demand, toClear ))
+            {
+                demand.newNodeCache = committed.nodeCache; // as committed by a superseded refresh
+                demand.committed = committed;
+                r4t_publish( token, demand );
+                continue;
+            }
+
+            final Precounter precounter = new Precounter( pollName, original, originalUnaCount, index,
+              toClear? null: parseCache, token );
+              // bypassing the parse cache when clearing, so forcing a fresh read of every document
             try { precounter.precount(); }
             catch( final CountFailure x )
             {
                 logger.log( WARNING, "Unable to precount poll '" + pollName + "' from local wayrepo", x );
-                if( failureH.get() == null ) failureH.set( x ); // to inform user
+                demand.precountFailure = x; // to inform user
                 continue;
             }
             catch( InterruptedException _x )
             {
                 logger.info( "Aborting interrupted thread: " + t.getName() );
-                Thread.currentThread().interrupt(); // pass it on, just to be correct
+                t.interrupt(); // pass it on, just to be correct
                 return;
             }
 
             demand.newNodeCache = new NodeCache1( precounter ); // collate results of precount
+            if( demand.fingerprint != WayrepoIndex.NO_FINGERPRINT )
+            {
+                demand.committed = new CommittedPrecount( demand, precounter.originalStateID(),
+                  /*isFresh*/toClear );
+                committedPrecounts.put( pollName, demand.committed );
+                  // committing it, lest this refresh be superseded before applying it
+            }
+            r4t_publish( token, demand );
         }
+    }
 
-      // Join back into "app main" thread.
-      // - - - - - - - - - - - - - - - - - -
-        ApplicationX.i().handler().post( new MainJoin( /*threadToJoin*/t, serial )
+
+        /** The precount results that are committed, but not yet applied or discarded, keyed by poll
+          * name.  A result is committed as soon as it is done, independently of its refresh.  So it
+          * outlives the refresh when superseded, and may be reused by a later refresh, whether of this
+          * cache or a successor.  The application of a refresh in r5 clears all results, those
+          * remaining being stale.
+          */
+        private static final java.util.concurrent.ConcurrentHashMap<String,CommittedPrecount> committedPrecounts =
+          new java.util.concurrent.ConcurrentHashMap<>();
+
+
+
+    /** Posts the results of the given demand for publication in r5_publish, unless meantime the refresh
+      * is superseded.
+      */
+    private @ThreadSafe void r4t_publish( final TaskSeries.Token token, final PrecountDemand demand )
+    {
+        demand.isReady = true; // grep ReadySync, after setting results
+        ApplicationX.i().handler().post( new Runnable()
         {
-            public void runAfterJoin() // on "app main", reading r4t variables above by TermSync
+            public void run()
             {
-                r5( toClear, serial, precountDemands, stripDemands, failureH.get() );
+                if( token.isSuperseded() ) return; // abort to avoid collision
+
+                r5_publish( demand );
             }
         });
     }
 
 
 
+    /** The maximum number of threads to precount in parallel, including the r4t thread itself.  It
+      * allows one thread per processor core, but no more than four in all because the threads contend
+      * for the same wayrepo and its document provider.
+      */
+    private static final int PRECOUNT_THREADS_MAX =
+      Math.max( 1, Math.min( Runtime.getRuntime().availableProcessors(), 4 ));
+
+
+
     private void r5( final boolean toClear, final int serial, final List<PrecountDemand> precountDemands,
       final List<StripDemand> stripDemands, final Exception failure )
     {
@@ -533,6 +1116,7 @@ public final class ForestCache implements Refreshable
             assert stripDemands.size() == 0; /* no use in stripping (see toStrip farther above),
               therefore no use in demanding it */
             final Collection<Forest> forests = forestMap.values();
+            final ArrayList<String> clearedNames = new ArrayList<>();
             if( forests.size() > 0 )
             {
                 final Iterator<Forest> f = forests.iterator();
@@ -547,6 +1131,8 @@ public final class ForestCache implements Refreshable
                         if( !demand.pollName.equals(pollName) ) continue;
 
                         demand.wereResultsApplied = true;
+                        if( demand.isPublished ) continue forests; // results were applied in r5_publish
+
                         final NodeCache1 newNodeCache = demand.newNodeCache;
                         if( newNodeCache == null ) break; // precount failed, so default to clearing node cache
 
@@ -556,13 +1142,15 @@ public final class ForestCache implements Refreshable
 
                     forest.nodeCache( new NodeCache1( /*originalUnaCount*/0,
                       /*hasPrecountAdjustments*/false )); // thus entirely clearing the forest
+                    clearedNames.add( pollName );
                 } while( f.hasNext() );
                 replacedNodeCache = true; // all were replaced
                 assert forests.size() > 0; // and all is at least one
             }
+            unstoreInBackground( clearedNames ); // lest a stale forest be restored from the store
             for( final PrecountDemand demand: precountDemands )
             {
-                if( demand.wereResultsApplied ) continue; // results were applied above
+                if( demand.wereResultsApplied || demand.isPublished ) continue; // results were applied
 
                 final NodeCache1 newNodeCache = demand.newNodeCache;
                 if( newNodeCache == null ) continue; // precount failed
@@ -574,7 +1162,21 @@ public final class ForestCache implements Refreshable
             }
         }
         else if( r5_apply(precountDemands) | r5_apply(stripDemands) ) replacedNodeCache = true;
-          // applying results only where specifically demanded
+          // applying results only where specifically demanded, and not already published
+
+      // Record the fingerprints of cached precounts.
+      // - - - - - - - - - - - - - - - - - - - - - - -
+        if( toClear ) fingerprintMap.clear();
+        for( final PrecountDemand demand: precountDemands )
+        {
+            final String name = demand.pollName;
+            if( demand.newNodeCache == null || demand.fingerprint == WayrepoIndex.NO_FINGERPRINT )
+            {
+                fingerprintMap.remove( name ); // forcing a precount next time
+            }
+            else fingerprintMap.put( name, demand.fingerprint );
+        }
+        for( final StripDemand demand: stripDemands ) fingerprintMap.remove( demand.pollName );
         if( replacedNodeCache ) nodeCacheBell.ring();
 
       // Inform user.
@@ -588,6 +1190,12 @@ public final class ForestCache implements Refreshable
             refreshNote = b.toString();
         }
         notaryBell.ring();
+
+      // Start any pending refresh.
+      // - - - - - - - - - - - - - -
+        committedPrecounts.clear(); // any remaining are stale, and those applied must not be reused
+        isRefreshing = false;
+        startPendingRefresh();
     }
 
 
@@ -596,11 +1204,13 @@ public final class ForestCache implements Refreshable
             boolean replacedNodeCache = false;
             for( final RefreshDemand demand: demands )
             {
+                if( demand instanceof PrecountDemand && ((PrecountDemand)demand).isPublished ) continue;
+
                 final NodeCache1 newNodeCache = demand.newNodeCache;
                 if( newNodeCache == null ) continue;
 
                 final String name = demand.pollName;
-                final Forest forest = forestMap.get( name );
+                final Forest forest = forestOrNull( name );
                 if( forest == null ) forestMap.put( name, new Forest(name,this,newNodeCache) );
                 else
                 {
@@ -613,31 +1223,74 @@ public final class ForestCache implements Refreshable
 
 
 
+    /** Publishes the results of a single precount ahead of the others, applying them to the forest and
+      * ringing the node cache bell for it alone.  So the user sees each forest updated as soon as it is
+      * precounted, rather than waiting for the whole refresh.
+      */
+    private void r5_publish( final PrecountDemand demand )
+    {
+        final boolean isReady = demand.isReady; // grep ReadySync, before reading results
+        assert isReady;
+
+        final NodeCache1 newNodeCache = demand.newNodeCache; // never null, the precount having succeeded
+        demand.isPublished = true;
+        final CommittedPrecount committed = demand.committed;
+        if( committed != null ) committedPrecounts.remove( demand.pollName, committed ); // now applied,
+          // so no longer reusable
+        final String name = demand.pollName;
+        if( demand.fingerprint == WayrepoIndex.NO_FINGERPRINT ) fingerprintMap.remove( name );
+        else fingerprintMap.put( name, demand.fingerprint ); // lest a successor cache precount it again
+        final Forest forest = forestOrNull( name );
+        if( forest == null ) forestMap.put( name, new Forest(name,this,newNodeCache) );
+        else
+        {
+            forest.nodeCache( newNodeCache );
+            nodeCacheBell.ring();
+        }
+    }
+
+
+
    // ==================================================================================================
 
 
-    private abstract class MainJoin extends FencedJointRunnable
+    /** The result of a precount that is committed independently of its refresh.
+      */
+    private static @ThreadSafe final class CommittedPrecount
     {
 
-        @ThreadSafe MainJoin( final Thread threadToJoin, final int serial )
+        CommittedPrecount( final PrecountDemand demand, final long originalStateID, final boolean isFresh )
         {
-            super( threadToJoin );
-            this.serial = serial;
+            fingerprint = demand.fingerprint;
+            this.isFresh = isFresh;
+            nodeCache = demand.newNodeCache;
+            this.originalStateID = originalStateID;
         }
 
 
-        private final int serial;
+        private final long fingerprint; // of poll documents read by the precount
 
 
-        public boolean toProceed()
+        /** Answers whether this result may stand in place of a precount for the given demand.  It may if
+          * the precount would read the same poll documents, as judged by fingerprint, against the same
+          * snapshot of unadjusted ground state, as judged by its {@linkplain
+          * NodeCache1#unadjustedStateID() identity}.
+          */
+        boolean isReusableFor( final PrecountDemand demand, final boolean toClear )
         {
-            if( serial != refreshSerialLast ) return false; // refresh superceded, abort to avoid collision
-
-            assert threadToJoin().equals( tRefresh );
-            tRefresh = null; // release to garbage collector
-            return true;
+            return fingerprint == demand.fingerprint && originalStateID == demand.originalStateID
+              && (isFresh || !toClear); // a refresh that clears must read every document afresh
         }
 
+
+        private final boolean isFresh; // whether the precount bypassed the parse cache
+
+
+        final NodeCache1 nodeCache;
+
+
+        private final long originalStateID; // of the snapshot as copied, or NodeCache1.VIRGIN_STATE_ID
+
     }
 
 
@@ -656,6 +1309,23 @@ public final class ForestCache implements Refreshable
         PrecountDemand( final RefreshDemand other ) { super( other ); } // retype constructor
 
 
+        long fingerprint = WayrepoIndex.NO_FINGERPRINT; // of poll documents read by the precount
+
+
+        CommittedPrecount committed; // of the results, or null if none was committed
+
+
+        CountFailure precountFailure; // if precount failed, else null
+
+
+        boolean isPublished; // whether the results were applied in r5_publish, ahead of r5
+
+
+        volatile boolean isReady; /* Whether the precount is done and its results set.  Written last by
+          the precounting thread, and read first by "app main" in r5_publish, so the write of the results
+          happens-before their reading.  Grep ReadySync. */
+
+
         boolean wereResultsApplied; // temporary variable
 
     }
@@ -675,8 +1345,9 @@ public final class ForestCache implements Refreshable
 
         RefreshDemand( final RefreshDemand other ) // copy constructor
         {
-            groundUnaState = other.groundUnaState;
             newNodeCache = other.newNodeCache;
+            original = other.original;
+            originalStateID = other.originalStateID;
             originalUnaCount = other.originalUnaCount;
             pollName = other.pollName;
         }
@@ -690,23 +1361,84 @@ public final class ForestCache implements Refreshable
         final String pollName;
 
 
-          @ThreadRestricted("KittedPolyStatorSR.openToThread") // for stators.save
-        final void snapOriginalState( final NodeCache1 nC ) // sets groundUnaState & originalUnaCount
+        final void snapOriginalState( final NodeCache1 nC ) // sets original, originalStateID & originalUnaCount
         {
-            final UnadjustedGround ground = nC.groundUna();
-            final Parcel out = Parcel.obtain();
-            try
+            original = nC; // shared by reference, leaving the worker thread to copy its unadjusted nodes
+            originalStateID = nC.unadjustedStateID();
+            originalUnaCount = nC.nodeMap.size();
+        }
+
+            NodeCache1 original; // before refresh, or null to demand a precount from scratch
+
+            long originalStateID = NodeCache1.VIRGIN_STATE_ID; // of the unadjusted nodes of the original
+
+            int originalUnaCount; // including UnadjustedNode0s, which the copy excludes
+
+    }
+
+
+
+   // ==================================================================================================
+
+
+    /** The saved state of a forest, pending restoration.  The state remains unchanged while pending,
+      * being either a section of the marshalled state of all forests, or a forest as stored.
+      */
+    private @ThreadSafe final class SavedForest
+    {
+
+        SavedForest( final String pollName, final ByteBuffer state )
+        {
+            this.pollName = pollName;
+            this.state = state;
+        }
+
+
+        /** Returns the restored forest, first restoring it if necessary.  If the state is unreadable,
+          * as in a corrupt store, then it discards the state and returns an empty forest.  A forest
+          * restored on a background thread is left untouched there till "app main" takes it.
+          */
+        synchronized Forest forest()
+        {
+            if( forest == null )
             {
-                UnadjustedGround.stators.save( ground, out, /*kit*/nC );
-                groundUnaState = out.marshall(); // sic
+                KittedPolyStatorSR.openToThread(); // each call to restore must be preceded by its own
+                try { forest = new Forest( pollName, ForestCache.this, new StateOnBuffer(state.duplicate()) ); }
+                catch( final RuntimeException x )
+                {
+                    logger.log( WARNING, "Discarding unreadable state of forest '" + pollName + "'", x );
+                    forest = new Forest( pollName, ForestCache.this );
+                    isDiscarded = true;
+                }
             }
-            finally { out.recycle(); } // grep ParcelReuse
-            originalUnaCount = nC.nodeMap.size();
+            return forest;
         }
 
-            byte[] groundUnaState; // before refresh, or null to demand a precount from scratch
 
-            int originalUnaCount; // including UnadjustedNode0s excluded from groundUnaState
+            private Forest forest;
+
+
+        /** Answers whether the state was found unreadable and discarded.
+          */
+        synchronized boolean isDiscarded() { return isDiscarded; }
+
+
+            private boolean isDiscarded;
+
+
+        final String pollName;
+
+
+        private final ByteBuffer state;
+
+
+        /** Writes the saved state of the forest to the given output, as it was originally written.
+          */
+        synchronized void writeSection( final StateOnBuffer out )
+        {
+            if( isDiscarded ) Forest.stators.save( forest, out );
+            else out.writeBytes( state );
+        }
 
     }
 
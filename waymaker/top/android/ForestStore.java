@@ -0,0 +1,282 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import waymaker.gen.*;
+
+import static java.util.logging.Level.WARNING;
+
+
+/** A persistent store of pollar forests, which spares the cost of rebuilding them after the death of
+  * the process.  It keeps each forest in a file of its own, named after its poll, together with the
+  * wayrepo fingerprint of its cached precount.  A file is read by mapping it into memory, so its pages
+  * are loaded only as the forest is restored from them.  A file is replaced whole on each write, leaving
+  * any earlier mapping of it intact.  Each write or deletion bears the {@linkplain #stamp() stamp} of
+  * the snapshot it comes from, and is skipped if a later snapshot already wrote or deleted the same
+  * file.  So snapshots may be applied concurrently and out of order.  Only the claiming of a file by a
+  * stamp, together with its final rename or deletion, is made under lock.  The writing of the file and
+  * the listing and mapping of files proceed without it, as does the issuing of stamps.
+  */
+@ThreadSafe final class ForestStore
+{
+
+
+    /** Constructs a ForestStore.
+      *
+      *     @param directory The directory in which to store the files.
+      */
+    ForestStore( final File directory ) { this.directory = directory; }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Deletes the stored state of the named forest, unless a later snapshot has since written it.
+      *
+      *     @param stamp The stamp of the snapshot, or other change to the cache, that calls for the
+      *       deletion.
+      */
+    void delete( final String pollName, final long stamp )
+    {
+        synchronized( stampAlteredMap ) { if( claim( pollName, stamp )) file( pollName ).delete(); }
+    }
+
+
+
+    /** Maps into memory the stored state of the named forest.
+      *
+      *     @return The stored forest, or null if there is none, or it cannot be read.
+      */
+    Stored open( final String pollName )
+    {
+        final File file = file( pollName );
+        if( !file.exists() ) return null;
+
+        try( final RandomAccessFile in = new RandomAccessFile( file, "r" ); )
+        {
+            final FileChannel channel = in.getChannel();
+            final ByteBuffer b = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+              // remaining mapped after channel closes
+            if( b.remaining() < HEADER_LENGTH || b.getInt() != FORMAT_VERSION )
+            {
+                throw new IOException( "Unknown format version" );
+            }
+
+            final long fingerprint = b.getLong();
+            return new Stored( fingerprint, b.slice() );
+        }
+        catch( final IOException x )
+        {
+            logger.log( WARNING, "Discarding unreadable forest store: " + file, x );
+            synchronized( stampAlteredMap )
+            {
+                if( !stampAlteredMap.containsKey( pollName )) file.delete(); // unless since rewritten
+            }
+            return null;
+        }
+    }
+
+
+
+    /** Returns the poll names of all stored forests.
+      */
+    List<String> pollNames()
+    {
+        final String[] fileNames = directory.list();
+        if( fileNames == null ) return Collections.emptyList(); // no directory, nothing yet stored
+
+        final ArrayList<String> pollNames = new ArrayList<>( fileNames.length );
+        for( final String fileName: fileNames )
+        {
+            if( !fileName.endsWith( FILE_SUFFIX )) continue; // as with a temporary file
+
+            try
+            {
+                pollNames.add( URLDecoder.decode(
+                  fileName.substring( 0, fileName.length() - FILE_SUFFIX.length() ), "UTF-8" ));
+            }
+            catch( final UnsupportedEncodingException x ) { throw new RuntimeException( x ); } // never occurs
+        }
+        return pollNames;
+    }
+
+
+
+    /** Deletes the stored state of each forest whose poll is not among those given, unless a later
+      * snapshot has since written it.
+      *
+      *     @param stamp The stamp of the snapshot from which the poll names come.
+      */
+    void retainOnly( final Set<String> pollNames, final long stamp )
+    {
+        for( final String pollName: pollNames() )
+        {
+            if( !pollNames.contains( pollName )) delete( pollName, stamp );
+        }
+    }
+
+
+
+    /** Issues the stamp of a new snapshot, greater than that of any earlier one.
+      */
+    long stamp() { return stampLast.incrementAndGet(); }
+
+
+
+    /** Stores the state of the named forest, replacing any already stored, unless a later snapshot has
+      * since written or deleted it.
+      *
+      *     @param stamp The stamp of the snapshot from which the state comes.
+      *     @param fingerprint The wayrepo fingerprint of the forest’s cached precount, or
+      *       WayrepoIndex.NO_FINGERPRINT if there is none.
+      *     @param state An array that holds the state written by the forest’s stators.
+      *     @param offset The index in the array at which the state begins.
+      *     @param length The length of the state.
+      */
+    void write( final String pollName, final long stamp, final long fingerprint, final byte[] state,
+      final int offset, final int length )
+    {
+        synchronized( stampAlteredMap ) { if( isStale( pollName, stamp )) return; } // sparing the work
+
+        directory.mkdirs();
+        final File file = file( pollName );
+        final File fileTmp = new File( file.getPath() + "." + stamp + ".tmp" ); // apart from concurrent writes
+        try
+        {
+            try( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream(
+              new FileOutputStream( fileTmp ))); )
+            {
+                out.writeInt( FORMAT_VERSION );
+                out.writeLong( fingerprint );
+                out.write( state, offset, length );
+            }
+            synchronized( stampAlteredMap ) // claiming only now, so a later snapshot may overtake this one
+            {
+                if( !claim( pollName, stamp ))
+                {
+                    fileTmp.delete(); // stale
+                    return;
+                }
+
+                if( !fileTmp.renameTo( file )) throw new IOException( "Cannot rename " + fileTmp + " to " + file );
+            }
+        }
+        catch( final IOException x )
+        {
+            logger.log( WARNING, "Cannot store forest '" + pollName + "'", x );
+            fileTmp.delete();
+        }
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** Records the given stamp as the latest to alter the file of the named forest, unless a later one
+      * is already recorded.  Call it while holding the lock of stampAlteredMap.
+      *
+      *     @return True if the stamp was recorded, false if it is stale.
+      */
+    private boolean claim( final String pollName, final long stamp )
+    {
+        if( isStale( pollName, stamp )) return false;
+
+        stampAlteredMap.put( pollName, stamp );
+        return true;
+    }
+
+
+
+    private final File directory;
+
+
+
+    private File file( final String pollName )
+    {
+        try { return new File( directory, URLEncoder.encode(pollName,"UTF-8") + FILE_SUFFIX ); }
+        catch( final UnsupportedEncodingException x ) { throw new RuntimeException( x ); } // never occurs
+    }
+
+
+
+    private static final String FILE_SUFFIX = ".forest";
+
+
+
+    private static final int FORMAT_VERSION = 2; /* Increment with any change of Forest.stators, including
+      the nested stators of node caches and nodes on which they depend. */
+
+
+
+    private static final int HEADER_LENGTH = 4/*version*/ + 8/*fingerprint*/;
+
+
+
+    /** Answers whether a later stamp than the one given is already recorded for the named forest.  Call
+      * it while holding the lock of stampAlteredMap.
+      */
+    private boolean isStale( final String pollName, final long stamp )
+    {
+        final Long stampAltered = stampAlteredMap.get( pollName );
+        return stampAltered != null && stampAltered > stamp;
+    }
+
+
+
+    private static final java.util.logging.Logger logger = LoggerX.getLogger( ForestStore.class );
+
+
+
+    private final HashMap<String,Long> stampAlteredMap = new HashMap<>(); /* Stamp of the latest snapshot
+      to write or delete the file of each forest, keyed by poll name.  Its lock guards the claiming,
+      renaming and deleting of files. */
+
+
+
+    private final AtomicLong stampLast = new AtomicLong(); // of the latest snapshot
+
+
+
+   // ==================================================================================================
+
+
+    /** A forest as stored.
+      */
+    static @ThreadSafe final class Stored
+    {
+
+        Stored( final long fingerprint, final ByteBuffer state )
+        {
+            this.fingerprint = fingerprint;
+            this.state = state;
+        }
+
+
+        /** The wayrepo fingerprint of the forest’s cached precount, or WayrepoIndex.NO_FINGERPRINT if
+          * there is none.
+          */
+        long fingerprint() { return fingerprint; }
+
+
+            private final long fingerprint;
+
+
+        /** The state written by the forest’s stators, mapped from the file.  Read it through a
+          * {@linkplain ByteBuffer#duplicate() duplicate} in order to leave its position unchanged.
+          */
+        ByteBuffer state() { return state; }
+
+
+            private final ByteBuffer state;
+
+    }
+
+
+}
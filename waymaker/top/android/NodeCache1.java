@@ -1,7 +1,8 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import waymaker.gen.*;
 import waymaker.spec.VotingID;
 
@@ -24,8 +25,8 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
         final CountNode groundPre = groundUna.precounted(); // if any
         if( groundPre != null )
         {
-            outlyingVotersPre = new ArrayList<>();
-            outlyingVotersUna = new ArrayList<>();
+            outlyingVotersPre = new IdentityHashMap<>();
+            outlyingVotersUna = new IdentityHashMap<>();
             for( final UnadjustedNode una: nodeMap.values() )
             {
                 if( una.getClass() != UnadjustedNode0.class )
@@ -35,7 +36,7 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
 
                     if( una.peerOrdinal() >= castUna.candidate().votersNextOrdinal() )
                     {
-                        outlyingVotersUna.add( (UnadjustedNode1)una );
+                        enlistOutlyingVoter( (UnadjustedNode1)una );
                     }
                 }
                 // else cannot become an inlier, ∴ is not a proper outlier
@@ -45,15 +46,15 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
                 assert pre.peerOrdinal() == 0;
                 if( 0 >= pre.rootwardInThis().candidate().votersNextOrdinal() )
                 {
-                    outlyingVotersPre.add( (PrecountNode1)pre );
+                    enlistOutlyingVoter( (PrecountNode1)pre );
                 }
             }
             ground = groundPre;
         }
         else // no precount adjustments
         {
-            outlyingVotersPre = Collections.emptyList();
-            outlyingVotersUna = Collections.emptyList();
+            outlyingVotersPre = Collections.emptyMap();
+            outlyingVotersUna = Collections.emptyMap();
             ground = groundUna;
         }
     }
@@ -70,25 +71,116 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
       */
     @ThreadSafe NodeCache1( final int originalUnaCount, final boolean hasPrecountAdjustments )
     {
-        nodeMap = new HashMap<>( MapX.hashCapacity(originalUnaCount + INITIAL_HEADROOM),
-          MapX.HASH_LOAD_FACTOR );
+        nodeMap = new OpenHashMap<>( originalUnaCount + INITIAL_HEADROOM );
         encache( groundUna = new UnadjustedGround() );
         if( hasPrecountAdjustments )
         {
-            outlyingVotersPre = new ArrayList<>();
-            outlyingVotersUna = new ArrayList<>();
+            outlyingVotersPre = new IdentityHashMap<>();
+            outlyingVotersUna = new IdentityHashMap<>();
             ground = new PrecountGround( groundUna );
         }
         else
         {
-            outlyingVotersPre = Collections.emptyList(); // outliers impossible without a precount
-            outlyingVotersUna = Collections.emptyList();
+            outlyingVotersPre = Collections.emptyMap(); // outliers impossible without a precount
+            outlyingVotersUna = Collections.emptyMap();
             ground = groundUna;
         }
     }
 
 
 
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Copies the unadjusted nodes of this cache to the given ground of another cache, excluding all
+      * precount adjustments.  This serves the refresh of a forest, which may share this cache by
+      * reference as its snapshot of the original state, leaving a worker thread to make the copy.
+      * The copy is made while holding the {@linkplain #unadjustedLock unadjusted lock}.
+      *
+      *     @param kit The restoration kit of the other cache.
+      *     @return The {@linkplain #unadjustedStateID() identity} of the unadjusted state that was copied.
+      */
+    @ThreadSafe long copyUnadjusted( final UnadjustedGround ground, final UnadjustedNodeV.RKit kit )
+    {
+        unadjustedLock.lock();
+        try
+        {
+            ground.copyUpstream( groundUna, /*originalKit*/this, kit );
+            return unadjustedStateID;
+        }
+        finally { unadjustedLock.unlock(); }
+    }
+
+
+
+    /** Removes the outlying precount voters of the given candidate, as for the purpose of listing them
+      * in the candidate itself.
+      *
+      *     @return The removed voters in the order of their enlistment, or an empty list if there were
+      *       none.
+      *     @see #outlyingVotersPre(PrecountNode)
+      */
+    List<PrecountNode1> delistOutlyingVoters( final PrecountNode candidate )
+    {
+        return listed( outlyingVotersPre.remove( candidate ));
+    }
+
+
+
+    /** Records a change to the unadjusted nodes of this cache, giving their state a new {@linkplain
+      * #unadjustedStateID() identity}.  Call it while holding the {@linkplain #unadjustedLock unadjusted
+      * lock}, before making the change.
+      */
+    void unadjustedChanged() { unadjustedStateID = newUnadjustedStateID(); }
+
+
+
+    /** The identity of the current state of the unadjusted nodes of this cache.  It differs from that
+      * of every other state in the process, including those of other caches, except where this cache
+      * was restored from the saved state of another.  Read it from the application main thread, or
+      * while holding the {@linkplain #unadjustedLock unadjusted lock}.
+      *
+      *     @see #VIRGIN_STATE_ID
+      */
+    long unadjustedStateID() { return unadjustedStateID; }
+
+
+        private long unadjustedStateID = newUnadjustedStateID();
+
+
+        static { stators.add( new Stator<NodeCache1>()
+        {
+            public void save( final NodeCache1 nodeCache, final StateOut out )
+            {
+                out.writeLong( nodeCache.unadjustedStateID );
+            }
+            public void restore( final NodeCache1 nodeCache, final StateIn in )
+            {
+                nodeCache.unadjustedStateID = in.readLong(); // so a successor may recognize the state
+            }
+        });}
+
+
+        private static long newUnadjustedStateID()
+        {
+            long id;
+            do id = unadjustedStateSerial.incrementAndGet(); while( id == VIRGIN_STATE_ID );
+            return id;
+        }
+
+
+        private static final AtomicLong unadjustedStateSerial = new AtomicLong( new Random().nextLong() );
+          // starting at random, lest it repeat the identities of a prior process, restored from its state
+
+
+
+    /** The {@linkplain #unadjustedStateID() identity} of the state of a virgin, empty ground of
+      * unadjusted nodes, as when a precount has no original: {@value}.  No cache has this identity.
+      */
+    static final long VIRGIN_STATE_ID = 0L;
+
+
+
    // - N o d e - C a c h e --------------------------------------------------------------------------------
 
 
@@ -126,7 +218,10 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
 
 
 
-    public void enlistOutlyingVoter( final PrecountNode1 node ) { outlyingVotersPre.add( node ); }
+    public void enlistOutlyingVoter( final PrecountNode1 node )
+    {
+        enlist( node, node.rootwardInThis().candidate(), outlyingVotersPre );
+    }
 
 
 
@@ -138,7 +233,7 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
 
         static { stators.add( new Stator<NodeCache1>()
         {
-            public void save( final NodeCache1 nodeCache, final Parcel out )
+            public void save( final NodeCache1 nodeCache, final StateOut out )
             {
               // 1. Unadjusted nodes.
               // - - - - - - - - - - -
@@ -151,7 +246,7 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
                 if( groundPre != null ) PrecountGround.stators.save( groundPre, out, nodeCache );
                   // else cache constructed without precount adjustments
             }
-            public void restore( final NodeCache1 nodeCache/*precountless construction*/, final Parcel in )
+            public void restore( final NodeCache1 nodeCache/*precountless construction*/, final StateIn in )
             {
               // 1.
               // - - -
@@ -171,10 +266,13 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
    // - P r e c o u n t - N o d e . S - K i t ----------------------------------------------------------
 
 
-    public List<PrecountNode1> outlyingVotersPre() { return outlyingVotersPre; }
+    public List<PrecountNode1> outlyingVotersPre( final PrecountNode candidate )
+    {
+        return listed( outlyingVotersPre.get( candidate ));
+    }
 
 
-        private final List<PrecountNode1> outlyingVotersPre;
+        private final Map<CountNode,List<PrecountNode1>> outlyingVotersPre; // indexed by identity of candidate,
           // persisted by groundUna stator via precount node stators
 
 
@@ -182,28 +280,66 @@ final class NodeCache1 implements NodeCache, PrecountNode.SKit, PrecountNode.RKi
    // - U n a d j u s t e d - N o d e - V . R - K i t --------------------------------------------------
 
 
-    public void enlistOutlyingVoter( final UnadjustedNode1 node ) { outlyingVotersUna.add( node ); }
+    public void enlistOutlyingVoter( final UnadjustedNode1 node )
+    {
+        enlist( node, node.rootwardInThis().candidate(), outlyingVotersUna );
+    }
 
 
 
    // - U n a d j u s t e d - N o d e - V . S - K i t --------------------------------------------------
 
 
-    public List<UnadjustedNode1> outlyingVotersUna() { return outlyingVotersUna; }
+    public List<UnadjustedNode1> outlyingVotersUna( final UnadjustedNodeV candidate )
+    {
+        return listed( outlyingVotersUna.get( candidate ));
+    }
 
 
-        private final List<UnadjustedNode1> outlyingVotersUna; /* Unadjusted counterparts of
-          precount nodes, they are cached for that purpose though they happen to be outliers.
-          Persisted by groundUna stator via unadjusted node stators. */
+        private final Map<CountNode,List<UnadjustedNode1>> outlyingVotersUna; /* Indexed by identity of
+          candidate.  Unadjusted counterparts of precount nodes, they are cached for that purpose though
+          they happen to be outliers.  Persisted by groundUna stator via unadjusted node stators. */
 
 
 
 //// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
 
 
+    /** Adds the voter to the list of outlying voters indexed by its candidate, making the list if
+      * necessary.
+      */
+    private static <V> void enlist( final V voter, final CountNode candidate,
+      final Map<CountNode,List<V>> outlyingVoters )
+    {
+        List<V> list = outlyingVoters.get( candidate );
+        if( list == null )
+        {
+            list = new ArrayList<>( /*initialCapacity*/4 );
+            outlyingVoters.put( candidate, list );
+        }
+        list.add( voter );
+    }
+
+
+
+    private static <V> List<V> listed( final List<V> outlyingVotersOrNull )
+    {
+        return outlyingVotersOrNull == null? Collections.<V>emptyList(): outlyingVotersOrNull;
+    }
+
+
+
     /** A map of all cached nodes including the ground pseudo-node, each keyed by its identity tag.
       */
-    final HashMap<VotingID,UnadjustedNode> nodeMap; // content persisted by groundUna stator via node stators
+    final OpenHashMap<VotingID,UnadjustedNode> nodeMap; // content persisted by groundUna stator via node stators
+
+
+
+    /** The lock to hold while changing the unadjusted nodes of this cache after construction, or while
+      * {@linkplain #copyUnadjusted(UnadjustedGround,UnadjustedNodeV.RKit) copying} them.  The
+      * application main thread should avoid waiting on it, because a copy may take a while.
+      */
+    final ReentrantLock unadjustedLock = new ReentrantLock();
 
 
 ///////
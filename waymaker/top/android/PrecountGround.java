@@ -1,6 +1,6 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
+import waymaker.gen.*;
 import waymaker.spec.*;
 
 
@@ -27,11 +27,11 @@ public final class PrecountGround extends PrecountNode
 
 
       @Override/*to allow for "voters" who are barred as such, and so instead roots*/
-    public void saveVoter( final PrecountNode1 voter, final Parcel out, final SKit kit )
+    public void saveVoter( final PrecountNode1 voter, final StateOut out, final SKit kit )
     {
       // a. Vote.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
-        AndroidXID.writeUDIDOrNull( voter.rootwardInThis().votedID(), out );
+        AndroidXID.writePackedUDIDOrNull( voter.rootwardInThis().votedID(), out );
 
       // b. Voter.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
@@ -40,12 +40,12 @@ public final class PrecountGround extends PrecountNode
 
 
 
-    public @Override PrecountNode1 restoreVoter( final UnadjustedNode voterUna, final Parcel in,
+    public @Override PrecountNode1 restoreVoter( final UnadjustedNode voterUna, final StateIn in,
       final RKit kit, final RootwardCast<PrecountNode> rootwardHither )
     {
       // a.
       // - - -
-        final VotingID votedID = (VotingID)AndroidXID.readUDIDOrNull( in );
+        final VotingID votedID = (VotingID)AndroidXID.readPackedUDIDOrNull( in );
         final RootwardCast<PrecountNode> cast;
         if( votedID == null ) cast = rootwardHither; // voter is actually a non-voter
         else cast = new RootwardCastB<PrecountNode>( this, votedID ); // voter is barred
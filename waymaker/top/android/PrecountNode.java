@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import java.util.*;
 import waymaker.gen.*;
 import waymaker.spec.*;
@@ -207,7 +206,7 @@ public abstract class PrecountNode implements CountNode
     /** Saves state from the precount-adjusted voter, writing out to the parcel.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.save
-    public void saveVoter( final PrecountNode1 voter, final Parcel out, final SKit kit )
+    public void saveVoter( final PrecountNode1 voter, final StateOut out, final SKit kit )
     {
         PrecountNode1.stators.save( voter, out, kit );
     }
@@ -216,7 +215,7 @@ public abstract class PrecountNode implements CountNode
         /** Reconstructs a precount-adjusted voter and restores its state, reading in from the parcel.
           */
           @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.restore
-        public PrecountNode1 restoreVoter( final UnadjustedNode voterUna, final Parcel in, final RKit kit,
+        public PrecountNode1 restoreVoter( final UnadjustedNode voterUna, final StateIn in, final RKit kit,
           final RootwardCast<PrecountNode> rootwardHither )
         {
             final PrecountNode1 voter = new PrecountNode1( voterUna, rootwardHither );
@@ -378,10 +377,25 @@ public abstract class PrecountNode implements CountNode
 
         static { stators.add( new KittedStatorSR<PrecountNode,SKit,RKit>()
         {
-            // Saves upstream precount voters recursively, both inlying (listed) and outlying (yet unlisted).
+            // Saves upstream precount voters iteratively, both inlying (listed) and outlying (yet unlisted).
             // Changing?  Maybe also change for UnadjustedNodeV.voters.
+            // Defers nested calls, as per KittedStatorSR Deferral.  So any stator added after this one
+            // for the same node must not depend on its voters, which are restored only later.
 
-            public void save( final PrecountNode node, final Parcel out, final SKit kit )
+            public void save( final PrecountNode node, final StateOut out, final SKit kit )
+            {
+                final VoterTreeQueue<PrecountNode> queue = votersQueue.get();
+                if( !queue.enqueue( node )) return; // left for the outermost call, which drains the queue
+
+                try { for( PrecountNode n; (n = queue.poll()) != null; ) saveVoters( n, out, kit ); }
+                catch( final RuntimeException x )
+                {
+                    queue.reset();
+                    throw x;
+                }
+            }
+
+            private void saveVoters( final PrecountNode node, final StateOut out, final SKit kit )
             {
               // 1. Inlying voters.
               // - - - - - - - - - -
@@ -395,7 +409,7 @@ public abstract class PrecountNode implements CountNode
 
                       // 1a. Voter ID.
                       // - - - - - - - -
-                        AndroidXID.writeUDID( voter.id(), out );
+                        AndroidXID.writePackedUDID( voter.id(), out );
                         if( voter.getClass().equals( PrecountNode1.class ))
                         {
                           // 1b. Is voter a precount voter?
@@ -423,29 +437,37 @@ public abstract class PrecountNode implements CountNode
 
               // 2. Outlying voters.
               // - - - - - - - - - - -
-                for( final PrecountNode1 voter: kit.outlyingVotersPre() )
+                for( final PrecountNode1 voter: kit.outlyingVotersPre( node ))
                 {
-                    if( voter.rootwardInThis().candidate() == node )
-                    {
+                  // 2a. Voter ID.
+                  // - - - - - - - -
+                    AndroidXID.writePackedUDID( voter.id(), out );
 
-                      // 2a. Voter ID.
-                      // - - - - - - - -
-                        AndroidXID.writeUDID( voter.id(), out );
+                  // 2b. Is its unadjusted counterpart empty?
+                  // - - - - - - - - - - - - - - - - - - - - -
+                    ParcelX.writeBoolean( voter.unadjusted().getClass().equals(UnadjustedNode0.class), out );
+
+                  // 2c. Voter.
+                  // - - - - - -
+                    node.saveVoter( voter, out, kit );
+                }
+                AndroidXID.writePackedUDIDNull( out ); // mark the end of this node's outlying voters
+            }
 
-                      // 2b. Is its unadjusted counterpart empty?
-                      // - - - - - - - - - - - - - - - - - - - - -
-                        ParcelX.writeBoolean(
-                          voter.unadjusted().getClass().equals(UnadjustedNode0.class), out );
+            public void restore( final PrecountNode node, final StateIn in, final RKit kit )
+            {
+                final VoterTreeQueue<PrecountNode> queue = votersQueue.get();
+                if( !queue.enqueue( node )) return; // left for the outermost call, which drains the queue
 
-                      // 2c. Voter.
-                      // - - - - - -
-                        node.saveVoter( voter, out, kit );
-                    }
+                try { for( PrecountNode n; (n = queue.poll()) != null; ) restoreVoters( n, in, kit ); }
+                catch( final RuntimeException x )
+                {
+                    queue.reset();
+                    throw x;
                 }
-                AndroidXID.writeUDIDNull( out ); // mark the end of this node's outlying voters
             }
 
-            public void restore( final PrecountNode node, final Parcel in, final RKit kit )
+            private void restoreVoters( final PrecountNode node, final StateIn in, final RKit kit )
             {
               // 1.
               // - - -
@@ -460,7 +482,7 @@ public abstract class PrecountNode implements CountNode
                     {
                       // 1a.
                       // - - -
-                        final VotingID id = (VotingID)AndroidXID.readUDID( in );
+                        final VotingID id = (VotingID)AndroidXID.readPackedUDID( in );
 
                       // 1b.
                       // - - -
@@ -485,7 +507,7 @@ public abstract class PrecountNode implements CountNode
 
               // 2.
               // - - -
-                VotingID id = (VotingID)AndroidXID.readUDIDOrNull( in );
+                VotingID id = (VotingID)AndroidXID.readPackedUDIDOrNull( in );
                 if( id == null ) return; // no outlying voters
 
                 final RootwardCast<PrecountNode> rootwardHither = node.rootwardHither_getOrMake();
@@ -501,7 +523,7 @@ public abstract class PrecountNode implements CountNode
 
                   // 2a.
                   // - - -
-                    id = (VotingID)AndroidXID.readUDIDOrNull( in );
+                    id = (VotingID)AndroidXID.readPackedUDIDOrNull( in );
                 }
                 while( id != null );
             }
@@ -518,6 +540,15 @@ public abstract class PrecountNode implements CountNode
                 return una;
             }
 
+            private final ThreadLocal<VoterTreeQueue<PrecountNode>> votersQueue =
+              new ThreadLocal<VoterTreeQueue<PrecountNode>>()
+            {
+                protected @Override VoterTreeQueue<PrecountNode> initialValue()
+                {
+                    return new VoterTreeQueue<>();
+                }
+            };
+
         });}
 
 
@@ -560,8 +591,8 @@ public abstract class PrecountNode implements CountNode
         public void encache( final UnadjustedNode node ); // really an UnadjustedNode0 placeholder in this case
 
 
-        /** Adds a restored node to the list of {@linkplain SKit#outlyingVotersPre() outlying
-          * voters}, thus partially restoring it, too.
+        /** Adds a restored node to the list of {@linkplain SKit#outlyingVotersPre(PrecountNode)
+          * outlying voters}, thus partially restoring it, too.
           */
         public void enlistOutlyingVoter( PrecountNode1 node );
 
@@ -583,11 +614,12 @@ public abstract class PrecountNode implements CountNode
 
        // - P r e c o u n t - N o d e . S - K i t ------------------------------------------------------
 
-        /** An unordered list of precount voters that are cached but unlisted by their candidates owing
-          * to incomplete extension of their {@linkplain #voters() internal voter lists}.  When a
-          * candidate saves its voters, it will scan this list for any outliers and save them too.
+        /** The list of precount voters of the given candidate that are cached but unlisted by it owing
+          * to incomplete extension of its {@linkplain #voters() internal voter list}.  When a candidate
+          * saves its voters, it will save these outliers too.  The list is indexed by candidate, so
+          * sparing each candidate a scan of all outliers.
           */
-        public List<PrecountNode1> outlyingVotersPre();
+        public List<PrecountNode1> outlyingVotersPre( PrecountNode candidate );
 
     }
 
@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import waymaker.gen.*;
 import waymaker.spec.VotingID;
 
@@ -81,11 +80,11 @@ public final class PrecountNode1 extends PrecountNode
 
         static { stators.add( new Stator<PrecountNode1>()
         {
-            public void save( final PrecountNode1 node, final Parcel out )
+            public void save( final PrecountNode1 node, final StateOut out )
             {
                 Waynode1.stators.saveD( node.waynode, out, EMPTY_WAYNODE );
             }
-            public void restore( final PrecountNode1 node, final Parcel in )
+            public void restore( final PrecountNode1 node, final StateIn in )
             {
                 node.waynode = Waynode1.makeD( in, EMPTY_WAYNODE );
             }
@@ -1,20 +1,13 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.content.*;
-import android.content.res.AssetFileDescriptor;
-import android.database.Cursor;
-import android.net.Uri;
-import android.os.RemoteException;
-import android.provider.DocumentsContract; // grep DocumentsContract-TS
 import java.io.*;
-import java.util.HashMap;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import org.xmlpull.v1.*;
 import waymaker.gen.*;
 import waymaker.spec.*;
 
-import static android.provider.DocumentsContract.Document.COLUMN_DISPLAY_NAME;
-import static android.provider.DocumentsContract.Document.MIME_TYPE_DIR;
 import static org.xmlpull.v1.XmlPullParser.END_DOCUMENT;
 import static org.xmlpull.v1.XmlPullParser.END_TAG;
 import static org.xmlpull.v1.XmlPullParser.START_TAG;
@@ -26,37 +19,40 @@ import static waymaker.top.android.Waynode.EMPTY_WAYNODE;
   * anticipating a future server count.  Precounters are single use facilities; construct one, use it,
   * and discard it.
   */
-public final @Warning("no hold") class Precounter implements UnadjustedNodeV.RKit
+public final class Precounter implements UnadjustedNodeV.RKit
 {
 
 
     /** Constructs a precounter.
       *
       *     @see #pollName()
-      *     @param groundUnaState The {@linkplain UnadjustedGround#restore(byte[],UnadjustedNodeV.RKit)
-      *       marshalled state} of the unadjusted ground on which to base the precount, or null to base
-      *       it on a virgin, empty ground, in which case the openToThread restriction is lifted.
-      *     @param originalUnaCount The number of unadjusted nodes in the original groundUnaState cache,
-      *        or zero if groundUnaState is null.  The value serves only to enlarge the initial capacity
-      *        of the node map in order to avoid forseeable rehashes.
-      *     @see WaykitUI#wayrepoTreeLoc()
+      *     @param original The node cache whose {@linkplain
+      *       NodeCache1#copyUnadjusted(UnadjustedGround,UnadjustedNodeV.RKit) unadjusted nodes} to copy
+      *       as the basis of the precount, or null to base it on a virgin, empty ground.
+      *     @param originalUnaCount The number of unadjusted nodes in the original cache, or zero if
+      *        the original is null.  The value serves only to enlarge the initial capacity of the node
+      *        map in order to avoid forseeable rehashes.
+      *     @param index The index of the wayrepo from which to read, as shared among all precounters
+      *       of the same refresh.
+      *     @param parseCache A cache of the results of parsing wayrepo documents, which may be shared
+      *       among precounters, or null to parse without caching.
+      *     @param token The token of cancellation under which the precount runs, to be shared by the
+      *       tasks that help it to read.
       */
-     @ThreadRestricted("KittedPolyStatorSR.openToThread") // for ground.restore
-   public Precounter( final String pollName, final byte[] groundUnaState, final int originalUnaCount,
-     final ContentResolver contentResolver, final String wayrepoTreeLoc )
+   Precounter( final String pollName, final NodeCache1 original, final int originalUnaCount,
+     final WayrepoIndex index, final WayrepoParseCache parseCache, final TaskSeries.Token token )
     {
         this.pollName = pollName;
-        this.contentResolver = contentResolver;
-        this.wayrepoTreeLoc = wayrepoTreeLoc;
-        nodeMap = new HashMap<>( MapX.hashCapacity(originalUnaCount + NodeCache.INITIAL_HEADROOM),
-          MapX.HASH_LOAD_FACTOR );
+        this.index = index;
+        this.parseCache = parseCache;
+        this.token = token;
+        nodeMap = new OpenHashMap<>( originalUnaCount + NodeCache.INITIAL_HEADROOM );
         serverCount = new ServerCount();
-        try { xhtmlParserFactory = WaykitUI.xhtmlConfigured( XmlPullParserFactory.newInstance() ); }
-        catch( final XmlPullParserException x ) { throw new RuntimeException( x ); }
 
         ground = new UnadjustedGround();
         encache( ground );
-        if( groundUnaState != null ) ground.restore( groundUnaState, /*kit*/this );
+        originalStateID = original == null? NodeCache1.VIRGIN_STATE_ID:
+          original.copyUnadjusted( ground, /*kit*/this );
     }
 
 
@@ -101,16 +97,26 @@ public final @Warning("no hold") class Precounter implements UnadjustedNodeV.RKi
     public EffectiveGrounder grounder() { return grounder; }
 
 
-        private final EffectiveGrounder grounder = new EffectiveGrounder(); // q.v. for "no hold"
+        private final EffectiveGrounder grounder = new EffectiveGrounder();
 
 
 
     /** A map of all known nodes including the ground pseudo-node, each keyed by identity tag.
       */
-    public HashMap<VotingID,UnadjustedNode> nodeMap() { return nodeMap; }
+    public OpenHashMap<VotingID,UnadjustedNode> nodeMap() { return nodeMap; }
 
 
-        private final HashMap<VotingID,UnadjustedNode> nodeMap;
+        private final OpenHashMap<VotingID,UnadjustedNode> nodeMap;
+
+
+
+    /** The {@linkplain NodeCache1#unadjustedStateID() identity} of the unadjusted state that was copied
+      * from the original cache, or NodeCache1.VIRGIN_STATE_ID if the original is null.
+      */
+    long originalStateID() { return originalStateID; }
+
+
+        private final long originalStateID;
 
 
 
@@ -151,102 +157,91 @@ public final @Warning("no hold") class Precounter implements UnadjustedNodeV.RKi
           / [ active recognition (variable weighting)
           // no utility to such weights, no meaning, instead recognition is all or nothing
           */
-        if( wayrepoTreeLoc == null ) throw new CountFailure( "User has set no wayrepo location" );
-
-        final PersonID ownerID; // owner of wayrepo, typically the user
+        final PersonID ownerID = index.ownerID(); // owner of wayrepo, typically the user
         VotingID _votedID_owner = null; // thus far
-        final Uri wayrepoTreeUri = Uri.parse( wayrepoTreeLoc );
-        read: try( final WayrepoReader inWr = new WayrepoReader( wayrepoTreeUri, contentResolver ))
+        final WayrepoIndex.Entry pollDirectory = index.poll( pollName );
+        if( pollDirectory != null )
         {
-            String docID;
-            docID = DocumentsContract.getTreeDocumentId( wayrepoTreeUri );
-            final Uri wayrepoUri;
-            try { wayrepoUri = DocumentsContract.buildDocumentUriUsingTree( wayrepoTreeUri, docID ); }
-            catch( final SecurityException x )
+          // List the wayrepo documents.
+          // - - - - - - - - - - - - - - -
+            WayrepoIndex.Entry ownerPositionFile = null;
+            final ArrayList<WayrepoIndex.Entry> pipeDirectories = new ArrayList<>();
+            for( final WayrepoIndex.Entry entry: pollDirectory.children() )
             {
-                // usually but not always thrown first by acquireContentProviderClient in WayrepoReader
-                throw new CountFailure( WaykitUI.wayrepoTreeLoc_message(wayrepoTreeLoc), x );
+                final String filename = entry.name();
+                final boolean isDirectory = entry.isDirectory();
+                if( !isDirectory && "position.xht".equals(filename) ) ownerPositionFile = entry;
+                else if( isDirectory && "pipe".equals(filename) )
+                {
+                    for( final WayrepoIndex.Entry pipeDirectory: entry.children() )
+                    {
+                        if( pipeDirectory.isDirectory() ) pipeDirectories.add( pipeDirectory );
+                    }
+                }
             }
 
-            docID = inWr.findDirectory( "poll", docID );
-            if( docID == null ) throw new CountFailure( "Wayrepo has no 'poll' directory" );
+          // Read them (I/O phase), fanning the pipes out over helper tasks.
+          // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+            final int pN = pipeDirectories.size();
+            final PipeReading[] readings = new PipeReading[pN];
+            final AtomicInteger pNext = new AtomicInteger(); // index of next pipe to claim, shared by helpers
+            final SupersedableTask[] helpers =
+              new SupersedableTask[Math.max( 0, Math.min(pN,READ_THREADS_MAX) - 1 )]; // parallel to this thread
+            final RuntimeException[] helperFailures = new RuntimeException[helpers.length]; // parallel to helpers
+            for( int h = 0; h < helpers.length; ++h )
+            {
+                final int hFinal = h;
+                helpers[h] = new SupersedableTask( token ) // sharing it, so superseded together
+                {
+                    protected void runTask()
+                    {
+                        try { precount_read( pipeDirectories, readings, pNext ); }
+                        catch( final RuntimeException x ) { helperFailures[hFinal] = x; } // rethrown below
+                    }
+                };
+                WorkScheduler.i().execute( helpers[h] ); // grep TaskSync
+            }
+            try
+            {
+                if( ownerPositionFile != null ) try( final WayrepoSource source = index.opener().openSource() )
+                {
+                    _votedID_owner = new DocumentParser().parseVote( ownerPositionFile, source, ownerID );
+                }
+                catch( final MalformedID|WayrepoAccessFailure x ) { throw new CountFailure( x ); }
 
-          // Identify owner of wayrepo.
-          // - - - - - - - - - - - - - -
-            final ContentProviderClient provider = inWr.provider(); // grep ContentProviderClient-TS
-            try // must be just after findDirectory (queryChildren) or SMBProvider returns null cursor
-            (
-                final Cursor c = inWr.provider().
-                  query( wayrepoUri, proNAME, /*selector*/null, /*selectorArgs*/null, /*order*/null );
-            ){
-                if( c == null || !c.moveToFirst() ) throw new CountFailure( "Cannot read wayrepo directory" );
+                precount_read( pipeDirectories, readings, pNext );
+                token.checkpoint();
+                for( final SupersedableTask helper: helpers )
+                {
+                    if( helper.withdraw() ) continue; // unstarted, its pipes all claimed by others
 
-                ownerID = new PersonID( c.getString(0) );
+                    helper.join(); // grep TaskSync, reading readings
+                }
+            }
+            finally
+            {
+                pNext.set( pN ); // in case of early quit, leaving no more pipes for helpers to claim
+                for( final SupersedableTask helper: helpers ) helper.withdraw(); // and none to start, else no-op
             }
-            catch( final RemoteException x ) { throw new CountFailure( x ); }
+            for( final RuntimeException x: helperFailures )
+            {
+                if( x == null ) continue;
 
-          // Read the wayrepo documents.
-          // - - - - - - - - - - - - - - -
-            docID = inWr.findDirectory( pollName, docID );
-            if( docID == null ) break read; // wayrepo has no nodes for this poll
+                throw new CountFailure( "Unable to read the pipe documents of poll " + pollName, x );
+                  // rather than counting the readings that the failed helper left unfinished
+            }
 
-            try( final Cursor cPos/*proID_NAME_TYPE*/ = inWr.queryChildren( docID ); )
+          // Ensure each pipe is precounted (count phase), in order of listing.
+          // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
+            for( final PipeReading reading: readings )
             {
-                personalPositionFiles: while( cPos.moveToNext() )
-                {
-                    final String filename = cPos.getString( 1 );
-                    final boolean isDirectory = MIME_TYPE_DIR.equals( cPos.getString( 2 ));
-                    if( !isDirectory && "position.xht".equals(filename) )
-                    {
-                        _votedID_owner = parseVote( /*docID*/cPos.getString(0), inWr, ownerID );
-                    }
-                    else if( isDirectory && "pipe".equals(filename) )
-                    {
-                        docID = cPos.getString( 0 );
-                        try( final Cursor cPP/*proID_NAME_TYPE*/ = inWr.queryChildren( docID ); )
-                        {
-                            pipes: while( cPP.moveToNext() )
-                            {
-                                if( MIME_TYPE_DIR.equals( cPP.getString( 2 )))
-                                {
-                                    docID = cPP.getString( 0 );
-                                    final PipeID pipeID = new PipeID( cPP.getString(1) );
-
-                                  // Ensure pipe is precounted.
-                                  // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
-                                    VotingID _votedID = null;        // thus far
-                                    Waynode _waynode = EMPTY_WAYNODE; // "
-                                    try( final Cursor cPipe/*pro same*/ = inWr.queryChildren( docID ); )
-                                    {
-                                        pipePositionFiles: while( cPipe.moveToNext() )
-                                        {
-                                            if( MIME_TYPE_DIR.equals(cPipe.getString(2)) ) continue;
-
-                                            final String fn = cPipe.getString( 1 );
-                                            if( "position.xht".equals(fn) )
-                                            {
-                                                _votedID = parseVote( /*docID*/cPipe.getString(0), inWr,
-                                                  pipeID );
-                                            }
-                                            else if( "end.xht".equals(fn) || "transnorm.xht".equals(fn)
-                                                  || "act.xht".equals(fn) )
-                                            {
-                                                _waynode = parseWaynode( /*docID*/cPipe.getString(0), inWr );
-                                            }
-                                        }
-                                    }
-                                    precountIfChanged( pipeID, _votedID, _waynode, /*allowStubRoot*/true );
-                                      // Let pipe be stub root.  Unlike a person, a pipe is useful only
-                                      // as a candidate to vote for, and voting is easier when the
-                                      // candidate is already in the forest.
-                                }
-                            }
-                        }
-                    }
-                }
+                if( reading.failure != null ) throw reading.failure;
+
+                precountIfChanged( reading.pipeID, reading.votedID, reading.waynode, /*allowStubRoot*/true );
+                  // Let pipe be stub root.  Unlike a person, a pipe is useful only as a candidate to vote
+                  // for, and voting is easier when the candidate is already in the forest.
             }
         }
-        catch( final MalformedID|WayrepoAccessFailure x ) { throw new CountFailure( x ); }
 
       // Ensure owner is precounted.
       // - - - - - - - - - - - - - - -
@@ -269,7 +264,7 @@ public final @Warning("no hold") class Precounter implements UnadjustedNodeV.RKi
 //// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
 
 
-    private final ContentResolver contentResolver; // grep ContentResolver-TS
+    private final WayrepoIndex index;
 
 
 
@@ -277,145 +272,67 @@ public final @Warning("no hold") class Precounter implements UnadjustedNodeV.RKi
 
 
 
-    /** @return Identity tag of vote, or null if there is none.  Instead throws CountFailure if identity
-      *   tag is malformed or identifies self.
-      */
-    private VotingID parseVote( final String docID, final WayrepoReader inWr, final VotingID actorID )
-      throws CountFailure, MalformedID
-    {
-        // position.xht form: http://reluk.ca/100-0/  (view source)
-        VotingID votedID = null; // thus far
-        final Uri fileUri = DocumentsContract.buildDocumentUriUsingTree( inWr.wayrepoTreeUri(), docID );
-        try
-        (
-            final AssetFileDescriptor aFD = inWr.provider().openTypedAssetFileDescriptor( fileUri,
-              /*type, any*/"*/*", /*options*/null );
-            final InputStream in = new BufferedInputStream( aFD.createInputStream() );
-        ){
-            final XmlPullParser p = xhtmlParserFactory.newPullParser();
-            p.setInput( in, /*encoding, self detect*/null );
-            for( int t = p.getEventType(); t != END_DOCUMENT; t = p.next() )
-            {
-                if( t != START_TAG || !"vote".equals(p.getName()) ) continue;
-
-                final String udidString = p.getAttributeValue( null, "candidate" );
-                if( udidString != null )
-                {
-                    votedID = (VotingID)UDID.make( udidString );
-                    if( votedID.equals( actorID ))
-                    {
-                        throw new CountFailure( "Self voting " + actorID + " in file " + docID );
-                          // demand correction of this useless vote
-                    }
-                }
-                // keep going, only final vote applies
-            }
-        }
-        catch( IOException|RemoteException|XmlPullParserException x ) { throw new CountFailure( x ); }
+    private final WayrepoParseCache parseCache; // or null
 
-        return votedID;
-    }
 
 
+    private final TaskSeries.Token token;
 
-    private WaynodeJig parseWaynode( final String docID, final WayrepoReader inWr )
-      throws CountFailure
-    {
-        // end|transnorm|act.xht form: http://reluk.ca/100-0/tool/xhwsPretty/pretty.js
-        final WaynodeJig jig = parseWaynode_jig;
-        jig.clear();
-        final Uri fileUri = DocumentsContract.buildDocumentUriUsingTree( inWr.wayrepoTreeUri(), docID );
-        try
-        (
-            final AssetFileDescriptor aFD = inWr.provider().openTypedAssetFileDescriptor( fileUri,
-              /*type, any*/"*/*", /*options*/null );
-            final InputStream in = new BufferedInputStream( aFD.createInputStream() );
-        ){
-            final XmlPullParser p = xhtmlParserFactory.newPullParser();
-            p.setInput( in, /*encoding, self detect*/null );
-            doc: for( int t = p.getEventType(); t != END_DOCUMENT; t = p.next() )
-            {
-                if( t != START_TAG ) continue doc;
 
-                if( "head".equals(p.getName()) )
-                {
-                    head: for( t = p.next(); t != END_TAG || !"head".equals(p.getName()); t = p.next() )
-                    {
-                        if( t != START_TAG ) continue head;
 
-                      // Question in title.
-                      // - - - - - - - - - -
-                        if( "title".equals(p.getName()) )
-                        {
-                            title:
-                            for( t = p.next(); t != END_TAG || !"title".equals(p.getName()); t = p.next() )
-                            {
-                                if( t == TEXT )
-                                {
-                                    jig.question = p.getText().trim();
-                                    break title;
-                                }
-                            }
-                            continue head;
-                        }
+    /** Reads the documents of pipes one after another until none remain unclaimed, or the calling thread
+      * is interrupted.  Each pipe is claimed by incrementing pNext, so several threads may read at once,
+      * each pipe by a single thread.  Sets the result of reading pipeDirectories[p] in readings[p].
+      */
+    private @ThreadSafe void precount_read( final List<WayrepoIndex.Entry> pipeDirectories,
+      final PipeReading[] readings, final AtomicInteger pNext )
+    {
+        final int pN = readings.length;
+        int p = pNext.getAndIncrement();
+        if( p >= pN ) return; // none to read
 
-                      // Back image.
-                      // - - - - - - -
-                        if( "backImage".equals(p.getName()) )
-                        {
-                            jig.questionBackImageLoc = p.getAttributeValue( null, "src" );
-                        }
-                    }
-                    continue doc;
-                }
+        final Thread t = Thread.currentThread();
+        final DocumentParser parser = new DocumentParser();
+        try( final WayrepoSource source = index.opener().openSource() )
+        {
+            for( ; p < pN; p = pNext.getAndIncrement() )
+            {
+                if( t.isInterrupted() ) return; // precount aborted, no longer wanted
 
-                if( "wayscript".equals(p.getName()) )
+                final PipeReading reading = readings[p] = new PipeReading();
+                final WayrepoIndex.Entry pipeDirectory = pipeDirectories.get( p );
+                try
                 {
-                  // Answer.
-                  // - - - - -
-                    t = p.next();
-                    if( t == TEXT )
+                    final PipeID pipeID = reading.pipeID = PipeID.make( pipeDirectory.name() );
+                    pipePositionFiles: for( final WayrepoIndex.Entry file: pipeDirectory.children() )
                     {
-                        jig.answer = p.getText().trim();
-                        t = p.next();
-                    }
-
-                  // Handle.
-                  // - - - - -
-                    wayscript: for(; t != END_TAG || !"wayscript".equals(p.getName()); t = p.next() )
-                    {
-                        if( t != START_TAG || !"handle".equals(p.getName()) ) continue wayscript;
+                        if( file.isDirectory() ) continue pipePositionFiles;
 
-                        handle: for( t = p.next(); t != END_TAG || !"handle".equals(p.getName());
-                          t = p.next() )
+                        final String fn = file.name();
+                        if( "position.xht".equals(fn) ) reading.votedID = parser.parseVote( file, source, pipeID );
+                        else if( "end.xht".equals(fn) || "transnorm.xht".equals(fn) || "act.xht".equals(fn) )
                         {
-                            if( t != TEXT ) continue handle;
-
-                            final String handle = p.getText().trim();
-                            if( !parseWaynode_matcher.reset(handle).matches() )
-                            {
-                                throw new CountFailure( "Malformed handle '" + handle + "' in file " + docID );
-                            }
-
-                            jig.handle = handle;
-                            break handle;
+                            final Waynode waynode = parser.parseWaynode( file, source );
+                            reading.waynode = waynode instanceof Waynode1? waynode: new Waynode1( waynode );
+                              // immutable copy of any reusable jig
                         }
-                        break wayscript;
                     }
-                    break doc;
                 }
+                catch( final CountFailure x ) { reading.failure = x; }
+                catch( final MalformedID x ) { reading.failure = new CountFailure( x ); }
+            }
+        }
+        catch( final WayrepoAccessFailure x )
+        {
+            for( ; p < pN; p = pNext.getAndIncrement() ) // fail the rest of the pipes
+            {
+                final PipeReading reading = readings[p] = new PipeReading();
+                reading.failure = new CountFailure( x );
             }
         }
-        catch( IOException|RemoteException|XmlPullParserException x ) { throw new CountFailure( x ); }
-        return jig;
     }
 
 
-        private final WaynodeJig parseWaynode_jig = new WaynodeJig(); // cache for reuse
-
-        private final Matcher parseWaynode_matcher = Waynode.HANDLE_PATTERN.matcher( "" );
-
-
 
     /** Ensures that any change of position in the local wayrepo is cached in a precount-adjustable
       * node.  This may involve communication with the remote count server.
@@ -479,21 +396,270 @@ public final @Warning("no hold") class Precounter implements UnadjustedNodeV.RKi
 
 
 
-    private static final String[] proNAME = new String[] { COLUMN_DISPLAY_NAME };
-      // query projection of one formal parameter: display name
+    private final ServerCount serverCount;
+
 
 
+    /** The maximum number of threads to read the documents of a single poll in parallel, including the
+      * precounting thread itself.  Reading is bound less by processing than by the latency of each
+      * document access, which is high for remote document providers.  The helper threads are drawn from
+      * the shared scheduler, whose own bound is what limits them overall.
+      */
+    private static final int READ_THREADS_MAX = 4;
 
-    private final ServerCount serverCount;
 
 
+   // ==================================================================================================
 
-    private final String wayrepoTreeLoc;
 
+    /** A parser of wayrepo documents for the use of a single thread.  Each thread that reads documents
+      * during the precount constructs a parser of its own.
+      */
+    private final class DocumentParser
+    {
 
+        DocumentParser()
+        {
+            try { xhtmlParserFactory = WaykitUI.xhtmlConfigured( XmlPullParserFactory.newInstance() ); }
+            catch( final XmlPullParserException x ) { throw new RuntimeException( x ); }
+        }
+
+
+        /** @return Identity tag of vote, or null if there is none.  Instead throws CountFailure if identity
+          *   tag is malformed or identifies self.
+          */
+        VotingID parseVote( final WayrepoIndex.Entry file, final WayrepoSource source,
+          final VotingID actorID ) throws CountFailure, MalformedID
+        {
+            final String docID = file.docID();
+            if( parseCache != null )
+            {
+                final WayrepoParseCache.Record record = parseCache.get( file );
+                if( record != null && !record.isWaynode() )
+                {
+                    final VotingID votedID = record.votedID();
+                    if( actorID.equals( votedID ))
+                    {
+                        throw new CountFailure( "Self voting " + actorID + " in file " + docID );
+                          // actor differs from that of the cached parse, as when the wayrepo is renamed
+                    }
 
-    private final XmlPullParserFactory xhtmlParserFactory;
-      // parsers non-reusable, https://code.google.com/p/android/issues/detail?id=182605
+                    return votedID;
+                }
+            }
+
+            final VotingID votedID = parseVote( docID, source, actorID );
+            if( parseCache != null ) parseCache.putVote( file, votedID );
+            return votedID;
+        }
+
+
+        private VotingID parseVote( final String docID, final WayrepoSource source, final VotingID actorID )
+          throws CountFailure, MalformedID
+        {
+            // position.xht form: http://reluk.ca/100-0/  (view source)
+            final int docN = readDocument( docID, source );
+            final byte[] doc = readDocument_bytes;
+            if( parseVote_scanner.scan( doc, docN, actorID, docID )) return parseVote_scanner.votedID();
+
+          // Else fall back to a full parse.
+          // - - - - - - - - - - - - - - - - -
+            VotingID votedID = null; // thus far
+            try( final InputStream in = new ByteArrayInputStream( doc, 0, docN ); )
+            {
+                final XmlPullParser p = xhtmlParserFactory.newPullParser();
+                p.setInput( in, /*encoding, self detect*/null );
+                for( int t = p.getEventType(); t != END_DOCUMENT; t = p.next() )
+                {
+                    if( t != START_TAG || !"vote".equals(p.getName()) ) continue;
+
+                    final String udidString = p.getAttributeValue( null, "candidate" );
+                    if( udidString != null )
+                    {
+                        votedID = (VotingID)UDID.make( udidString );
+                        if( votedID.equals( actorID ))
+                        {
+                            throw new CountFailure( "Self voting " + actorID + " in file " + docID );
+                              // demand correction of this useless vote
+                        }
+                    }
+                    // keep going, only final vote applies
+                }
+            }
+            catch( IOException|XmlPullParserException x ) { throw new CountFailure( x ); }
+
+            return votedID;
+        }
+
+
+            private final VoteScanner parseVote_scanner = new VoteScanner();
+
+
+        Waynode parseWaynode( final WayrepoIndex.Entry file, final WayrepoSource source )
+          throws CountFailure
+        {
+            if( parseCache != null )
+            {
+                final WayrepoParseCache.Record record = parseCache.get( file );
+                if( record != null && record.isWaynode() ) return record.waynode();
+            }
+
+            final WaynodeJig jig = parseWaynode( file.docID(), source );
+            if( parseCache != null ) parseCache.putWaynode( file, jig );
+            return jig;
+        }
+
+
+        private WaynodeJig parseWaynode( final String docID, final WayrepoSource source )
+          throws CountFailure
+        {
+            // end|transnorm|act.xht form: http://reluk.ca/100-0/tool/xhwsPretty/pretty.js
+            final WaynodeJig jig = parseWaynode_jig;
+            jig.clear();
+            try( final InputStream in = new BufferedInputStream( source.openDocument( docID )); )
+            {
+                final XmlPullParser p = xhtmlParserFactory.newPullParser();
+                p.setInput( in, /*encoding, self detect*/null );
+                doc: for( int t = p.getEventType(); t != END_DOCUMENT; t = p.next() )
+                {
+                    if( t != START_TAG ) continue doc;
+
+                    if( "head".equals(p.getName()) )
+                    {
+                        head: for( t = p.next(); t != END_TAG || !"head".equals(p.getName()); t = p.next() )
+                        {
+                            if( t != START_TAG ) continue head;
+
+                          // Question in title.
+                          // - - - - - - - - - -
+                            if( "title".equals(p.getName()) )
+                            {
+                                title:
+                                for( t = p.next(); t != END_TAG || !"title".equals(p.getName()); t = p.next() )
+                                {
+                                    if( t == TEXT )
+                                    {
+                                        jig.question = p.getText().trim();
+                                        break title;
+                                    }
+                                }
+                                continue head;
+                            }
+
+                          // Back image.
+                          // - - - - - - -
+                            if( "backImage".equals(p.getName()) )
+                            {
+                                jig.questionBackImageLoc = p.getAttributeValue( null, "src" );
+                            }
+                        }
+                        continue doc;
+                    }
+
+                    if( "wayscript".equals(p.getName()) )
+                    {
+                      // Answer.
+                      // - - - - -
+                        t = p.next();
+                        if( t == TEXT )
+                        {
+                            jig.answer = p.getText().trim();
+                            t = p.next();
+                        }
+
+                      // Handle.
+                      // - - - - -
+                        wayscript: for(; t != END_TAG || !"wayscript".equals(p.getName()); t = p.next() )
+                        {
+                            if( t != START_TAG || !"handle".equals(p.getName()) ) continue wayscript;
+
+                            handle: for( t = p.next(); t != END_TAG || !"handle".equals(p.getName());
+                              t = p.next() )
+                            {
+                                if( t != TEXT ) continue handle;
+
+                                final String handle = p.getText().trim();
+                                if( !parseWaynode_matcher.reset(handle).matches() )
+                                {
+                                    throw new CountFailure( "Malformed handle '" + handle + "' in file " + docID );
+                                }
+
+                                jig.handle = handle;
+                                break handle;
+                            }
+                            break wayscript;
+                        }
+                        break doc;
+                    }
+                }
+            }
+            catch( IOException|XmlPullParserException x ) { throw new CountFailure( x ); }
+            return jig;
+        }
+
+
+            private final WaynodeJig parseWaynode_jig = new WaynodeJig(); // cache for reuse
+
+            private final Matcher parseWaynode_matcher = Waynode.HANDLE_PATTERN.matcher( "" );
+
+
+        /** Reads the whole of the identified document into readDocument_bytes, enlarging the array as
+          * necessary.
+          *
+          *     @return The length of the document in bytes.
+          */
+        private int readDocument( final String docID, final WayrepoSource source ) throws CountFailure
+        {
+            byte[] bytes = readDocument_bytes;
+            int bN = 0; // count of bytes read
+            try( final InputStream in = source.openDocument( docID ); )
+            {
+                for( ;; )
+                {
+                    if( bN == bytes.length ) readDocument_bytes = bytes = Arrays.copyOf( bytes, bN * 2 );
+
+                    final int n = in.read( bytes, bN, bytes.length - bN );
+                    if( n < 0 ) break;
+
+                    bN += n;
+                }
+            }
+            catch( final IOException x ) { throw new CountFailure( x ); }
+
+            return bN;
+        }
+
+
+            private byte[] readDocument_bytes = new byte[8192]; // cache for reuse
+
+
+        private final XmlPullParserFactory xhtmlParserFactory;
+          // parsers non-reusable, https://code.google.com/p/android/issues/detail?id=182605
+
+    }
+
+
+
+   // ==================================================================================================
+
+
+    /** The result of reading the documents of a pipe.
+      */
+    private static final class PipeReading
+    {
+
+        CountFailure failure; // if reading failed, else null
+
+
+        PipeID pipeID;
+
+
+        VotingID votedID; // or null if there is none
+
+
+        Waynode waynode = EMPTY_WAYNODE; // immutable
+
+    }
 
 
 }
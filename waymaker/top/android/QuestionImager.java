@@ -70,37 +70,39 @@ final class QuestionImager extends QuestionSyncher implements OnLayoutChangeList
 
 
 
-    @ThreadSafe volatile int sImaging; /* Serial number as conflict flag for parallel worker threads.
-      Write from app main, read from threads themselves.  Not using tImaging as flag, or tImaging(null)
-      might overwrite and prevent join by subsequent QuestionImaging.run. */
+    QuestionImaging imaging; // latest imaging task, null to garbage on joining it back
+
+
+
+    private static final WorkScheduler imagingScheduler = new WorkScheduler(
+      QuestionImaging.class.getSimpleName(), 2, Thread.NORM_PRIORITY ); /* Apart from the shared
+      scheduler, lest a long refresh delay the image on screen. */
+
+
+
+    private final TaskSeries imagingSeries = new TaskSeries(); /* Conflict flag for imaging tasks.
+      Supersede from app main, test from the tasks themselves.  Not using imaging as flag, or
+      imaging(null) might overwrite and prevent join by subsequent QuestionImaging.runTask. */
 
 
 
     void sync()
     {
-        ++sImaging; // flag to all prior worker threads, "you're superceded"
-        if( tImaging != null && tImaging.target().isInterruptible() ) tImaging.interrupt(); /* Tap on
-          shoulder, "no longer wanted".  To save resources, otherwise harmless running to completion. */
+        final TaskSeries.Token token = imagingSeries.supersede(); /* Flag to all prior imaging tasks,
+          "you're superceded", and tap on shoulder of any interruptible, "no longer wanted".  To save
+          resources, otherwise harmless running to completion. */
         if( imageLoc == null )
         {
             wrV.setBackground( null );
             return;
         }
 
-        final QuestionImaging qI = new QuestionImaging( sImaging, /*tImagingPrior*/tImaging, this );
-        final Thread t = tImaging = new TargetedThread<QuestionImaging>( qI,
-          QuestionImaging.class.getSimpleName() + " " + sImaging );
-        t.setPriority( Thread.NORM_PRIORITY ); // or to limit of group
-        t.setDaemon( true );
-        t.start(); // grep StartSync, continues at QuestionImaging.run
+        final QuestionImaging qI = imaging = new QuestionImaging( token, /*imagingPrior*/imaging, this );
+        imagingScheduler.execute( qI ); // grep TaskSync, continues at QuestionImaging.runTask
     }
 
 
 
-    TargetedThread<QuestionImaging> tImaging; // parallel worker thread, null to garbage on termination
-
-
-
     final WayrangingV wrV;
 
 
@@ -11,15 +11,16 @@ import static java.net.HttpURLConnection.HTTP_OK;
 import static java.util.logging.Level.WARNING;
 
 
-@ThreadRestricted("StartSync from app main") final class QuestionImaging implements Runnable
+@ThreadRestricted("TaskSync from app main") final class QuestionImaging extends SupersedableTask
 {
 
 
       @ThreadRestricted("app main")
-    QuestionImaging( final int sImaging, final Thread tImagingPrior, final QuestionImager imager )
+    QuestionImaging( final TaskSeries.Token token, final QuestionImaging imagingPrior,
+      final QuestionImager imager )
     {
-        this.sImaging = sImaging;
-        this.tImagingPrior = tImagingPrior;
+        super( token );
+        this.imagingPrior = imagingPrior;
         this.imager = imager;
         imageLoc = imager.imageLoc;
         widthV = imager.wrV.getWidth();
@@ -28,15 +29,23 @@ import static java.util.logging.Level.WARNING;
 
 
 
-   // - R u n n a b l e --------------------------------------------------------------------------------
+   // - S u p e r s e d a b l e - T a s k --------------------------------------------------------------
 
 
-    public void run()
+    public @ThreadSafe @Override boolean isInterruptible() { return isInterruptible; }
+      // once true it never changes
+
+
+        private volatile boolean isInterruptible;
+
+
+
+    protected void runTask()
     {
         final Thread tCurrent = Thread.currentThread();
-        if( tImagingPrior != null )
+        if( imagingPrior != null )
         {
-            try{ tImagingPrior.join(); }
+            try{ imagingPrior.join(); }
               // let any prior HTTP response finish and cache before possibly re-requesting same URL
             catch( final InterruptedException x )
             {
@@ -45,8 +54,10 @@ import static java.util.logging.Level.WARNING;
                 tCurrent.interrupt(); // pass it on
                 return;
             }
+
+            imagingPrior = null; // release to garbage collector
         }
-        // else prior thread already terminated, nulling en passant imager.tImaging
+        // else prior task already joined back, nulling en passant imager.imaging
         connection: try // fetch bitmapOriginal
         {
             final HttpURLConnection con = Net.openHttpConnection( new URL( imageLoc )); // needs INTERNET
@@ -94,8 +105,7 @@ import static java.util.logging.Level.WARNING;
             return; // interrupted, which is okay
         }
         catch( final IOException x ) { logger.log( WARNING, "Unable to fetch question back image", x ); }
-        if( imager.sImaging != sImaging ) return; /* Superceded, imaging no longer wanted.
-          QuestionImager.sImaging was exposed volatile for just this purpose, to enable deferred
+        if( token().isSuperseded() ) return; /* Superceded, imaging no longer wanted.  Deferred
           detection of being unwanted in lieu of receiving an interrupt, while !isInterruptible. */
 
       // Scale fetched image.
@@ -130,19 +140,13 @@ import static java.util.logging.Level.WARNING;
 
       // Set scaled image as background.
       // - - - - - - - - - - - - - - - - -
-        ApplicationX.i().handler().post( new FencedJointRunnable( /*threadToJoin*/tCurrent )
+        ApplicationX.i().handler().post( new TaskJoin( this )
         {
-            // joining back into "app main" thread
-            public boolean toProceed()
-            {
-                if( imager.sImaging != sImaging ) return false; // superceded, abort to avoid collision
-
-                assert threadToJoin().equals( imager.tImaging );
-                imager.tImaging = null; // release to garbage collector
-                return true;
-            }
-            public void runAfterJoin() // reading QuestionImaging.this variables by TermSync
+            // joining back into "app main" thread, unless superceded
+            public void runAfterJoin() // reading QuestionImaging.this variables by TaskSync
             {
+                assert task().equals( imager.imaging );
+                imager.imaging = null; // release to garbage collector
                 final WayrangingV wrV = imager.wrV;
                 final BitmapDrawable background;
                 if( bitmapScaled != null )
@@ -185,10 +189,7 @@ import static java.util.logging.Level.WARNING;
 
 
 
-    @ThreadSafe boolean isInterruptible() { return isInterruptible; } // once true it never changes
-
-
-        private volatile boolean isInterruptible;
+    private QuestionImaging imagingPrior; // null to garbage once joined
 
 
 
@@ -196,14 +197,6 @@ import static java.util.logging.Level.WARNING;
 
 
 
-    private final int sImaging; // serial
-
-
-
-    private final Thread tImagingPrior;
-
-
-
     private final int widthV; // width of wrV
 
 
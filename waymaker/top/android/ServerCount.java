@@ -119,9 +119,9 @@ public final @ThreadSafe class ServerCount
 
 
     /** Answers whether the given string is a well formed poll name, that is a well formed rep
-      * {@linkplain ID#isSerialForm(String) serial number}.
+      * {@linkplain ID#isSerialForm(CharSequence) serial number}.
       */
-    public static boolean isPollNameForm( final String string ) { return ID.isSerialForm( string ); }
+    public static boolean isPollNameForm( final CharSequence string ) { return ID.isSerialForm( string ); }
 
 
 }
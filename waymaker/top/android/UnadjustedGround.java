@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import waymaker.gen.*;
 import waymaker.spec.*;
 
@@ -23,12 +22,29 @@ public final class UnadjustedGround extends UnadjustedNodeV
 
 
       @Override/*to allow for "voters" who are barred as such, and so instead roots*/
-    public void saveVoter( final UnadjustedNode1 voter, final Parcel out, final SKit kit )
+    UnadjustedNode1 copyVoter( final UnadjustedNode1 original, final RKit kit,
+      final RootwardCast<UnadjustedNode> rootwardHither )
+    {
+        final VotingID votedID = original.rootwardInThis().votedID();
+        final RootwardCast<UnadjustedNode> cast;
+        if( votedID == null ) cast = rootwardHither; // voter is actually a non-voter
+        else cast = new RootwardCastB<UnadjustedNode>( this, votedID ); // voter is barred
+
+        final UnadjustedNode1 voter = new UnadjustedNode1( original.id(), original.peerOrdinal(), cast,
+          original.waynode() );
+        kit.encache( voter );
+        return voter;
+    }
+
+
+
+      @Override/*to allow for "voters" who are barred as such, and so instead roots*/
+    public void saveVoter( final UnadjustedNode1 voter, final StateOut out, final SKit kit )
     {
 
       // a. Voter ID.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
-        AndroidXID.writeUDID( voter.id(), out );
+        AndroidXID.writePackedUDID( voter.id(), out );
 
       // b. Voter ordinal.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
@@ -40,7 +56,7 @@ public final class UnadjustedGround extends UnadjustedNodeV
 
       // d. Vote.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
-        AndroidXID.writeUDIDOrNull( voter.rootwardInThis().votedID(), out );
+        AndroidXID.writePackedUDIDOrNull( voter.rootwardInThis().votedID(), out );
 
       // e. Voter.
       // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
@@ -49,26 +65,7 @@ public final class UnadjustedGround extends UnadjustedNodeV
 
 
 
-    /** Restores state to this ground.
-      *
-      *     @param state The state as marshalled from the {@linkplain stators stators}.
-      */
-      @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.restore
-    public void restore( final byte[] state, final UnadjustedNodeV.RKit kit )
-    {
-        final Parcel in = Parcel.obtain(); // grep Parcel-TS
-        try
-        {
-            in.unmarshall( state, 0, state.length ); // sic
-            in.setDataPosition( 0 ); // undocumented requirement
-            stators.restore( this, in, kit );
-        }
-        finally { in.recycle(); } // grep ParcelReuse
-    }
-
-
-
-    public @Override UnadjustedNode1 restoreVoter( final VotingID id, final Parcel in, final RKit kit,
+    public @Override UnadjustedNode1 restoreVoter( final VotingID id, final StateIn in, final RKit kit,
       final RootwardCast<UnadjustedNode> rootwardHither )
     {
       // b.
@@ -81,7 +78,7 @@ public final class UnadjustedGround extends UnadjustedNodeV
 
       // d.
       // - - -
-        final VotingID votedID = (VotingID)AndroidXID.readUDIDOrNull( in );
+        final VotingID votedID = (VotingID)AndroidXID.readPackedUDIDOrNull( in );
         final RootwardCast<UnadjustedNode> cast;
         if( votedID == null ) cast = rootwardHither; // voter is actually a non-voter
         else cast = new RootwardCastB<UnadjustedNode>( this, votedID ); // voter is barred
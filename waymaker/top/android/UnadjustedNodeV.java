@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import java.util.*;
 import waymaker.gen.*;
 import waymaker.spec.*;
@@ -37,14 +36,83 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
    // --------------------------------------------------------------------------------------------------
 
 
+    /** Copies to this node the voters of the original node, together with their own voters and so on
+      * upstream, excluding all precount adjustments.  The result is the same as saving the state of the
+      * original and restoring it to this node, but without the marshalling.  The copy proceeds breadth
+      * first, without recursion.
+      *
+      *     @param originalKit The saving kit of the original, from which to copy its outlying voters.
+      *     @param kit The restoration kit of this node.
+      */
+    final void copyUpstream( final UnadjustedNodeV original, final SKit originalKit, final RKit kit )
+    {
+        final ArrayDeque<UnadjustedNodeV> queue = new ArrayDeque<>(); // of original and copy, pairwise
+        queue.add( original );
+        queue.add( this );
+        for( UnadjustedNodeV o; (o = queue.poll()) != null; )
+        {
+            final UnadjustedNodeV c = queue.poll();
+            c.votersNextOrdinal = o.votersNextOrdinal;
+
+          // 1. Inlying voters.
+          // - - - - - - - - - -
+            final int vN = o.voters.size();
+            if( vN != 0 )
+            {
+                final RootwardCast<UnadjustedNode> rootwardHither = c.rootwardHither_getOrMake();
+                final UnadjustedNode1[] inlyingVoters = new UnadjustedNode1[vN];
+                for( int v = 0; v < vN; ++v )
+                {
+                    final UnadjustedNode1 voterO = o.voters.get( v );
+                    final UnadjustedNode1 voterC = c.copyVoter( voterO, kit, rootwardHither );
+                    inlyingVoters[v] = voterC;
+                    queue.add( voterO );
+                    queue.add( voterC );
+                }
+                c.voters.array( inlyingVoters );
+            }
+
+          // 2. Outlying voters.
+          // - - - - - - - - - - -
+            final List<UnadjustedNode1> outlyingVoters = originalKit.outlyingVotersUna( o );
+            final int oN = outlyingVoters.size();
+            if( oN == 0 ) continue;
+
+            final RootwardCast<UnadjustedNode> rootwardHither = c.rootwardHither_getOrMake();
+            for( int v = 0; v < oN; ++v )
+            {
+                final UnadjustedNode1 voterO = outlyingVoters.get( v );
+                final UnadjustedNode1 voterC = c.copyVoter( voterO, kit, rootwardHither );
+                kit.enlistOutlyingVoter( voterC );
+                queue.add( voterO );
+                queue.add( voterC );
+            }
+        }
+    }
+
+
+        /** Constructs a copy of the original voter, cast to this node, and stores it in the node cache.
+          * Leaves the voters of the copy to the caller.
+          */
+        UnadjustedNode1 copyVoter( final UnadjustedNode1 original, final RKit kit,
+          final RootwardCast<UnadjustedNode> rootwardHither )
+        {
+            final UnadjustedNode1 voter = new UnadjustedNode1( original.id(), original.peerOrdinal(),
+              rootwardHither, original.waynode() );
+            kit.encache( voter );
+            return voter;
+        }
+
+
+
     /** Saves state from the voter, writing out to the parcel.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.save
-    public void saveVoter( final UnadjustedNode1 voter, final Parcel out, final SKit kit )
+    public void saveVoter( final UnadjustedNode1 voter, final StateOut out, final SKit kit )
     {
       // a. Voter ID.
       // - - - - - - -
-        AndroidXID.writeUDID( voter.id(), out );
+        AndroidXID.writePackedUDID( voter.id(), out );
 
       // b. Voter ordinal.
       // - - - - - - - - - -
@@ -64,7 +132,7 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
     /** Reconstructs a voter and restores its state, reading in from the parcel.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.restore
-    public UnadjustedNode1 restoreVoter( final VotingID id, final Parcel in, final RKit kit,
+    public UnadjustedNode1 restoreVoter( final VotingID id, final StateIn in, final RKit kit,
       final RootwardCast<UnadjustedNode> rootwardHither )
     {
       // b.
@@ -117,10 +185,25 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
 
         static { stators.add( new KittedStatorSR<UnadjustedNodeV,SKit,RKit>()
         {
-            // Saves upstream voters recursively, both inlying (listed) and outlying (yet unlisted).
+            // Saves upstream voters iteratively, both inlying (listed) and outlying (yet unlisted).
             // Changing?  Maybe also change for PrecountNode.voters.
+            // Defers nested calls, as per KittedStatorSR Deferral.  So any stator added after this one
+            // for the same node must not depend on its voters, which are restored only later.
+
+            public void save( final UnadjustedNodeV node, final StateOut out, final SKit kit )
+            {
+                final VoterTreeQueue<UnadjustedNodeV> queue = votersQueue.get();
+                if( !queue.enqueue( node )) return; // left for the outermost call, which drains the queue
+
+                try { for( UnadjustedNodeV n; (n = queue.poll()) != null; ) saveVoters( n, out, kit ); }
+                catch( final RuntimeException x )
+                {
+                    queue.reset();
+                    throw x;
+                }
+            }
 
-            public void save( final UnadjustedNodeV node, final Parcel out, final SKit kit )
+            private void saveVoters( final UnadjustedNodeV node, final StateOut out, final SKit kit )
             {
               // 1. Inlying voters.
               // - - - - - - - - - -
@@ -133,14 +216,24 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
 
               // 2. Outlying voters.
               // - - - - - - - - - - -
-                for( final UnadjustedNode1 voter: kit.outlyingVotersUna() )
+                for( final UnadjustedNode1 voter: kit.outlyingVotersUna( node )) node.saveVoter( voter, out, kit );
+                AndroidXID.writePackedUDIDNull( out ); // mark the end of this node's outlying voters
+            }
+
+            public void restore( final UnadjustedNodeV node, final StateIn in, final RKit kit )
+            {
+                final VoterTreeQueue<UnadjustedNodeV> queue = votersQueue.get();
+                if( !queue.enqueue( node )) return; // left for the outermost call, which drains the queue
+
+                try { for( UnadjustedNodeV n; (n = queue.poll()) != null; ) restoreVoters( n, in, kit ); }
+                catch( final RuntimeException x )
                 {
-                    if( voter.rootwardInThis().candidate() == node ) { node.saveVoter( voter, out, kit ); }
+                    queue.reset();
+                    throw x;
                 }
-                AndroidXID.writeUDIDNull( out ); // mark the end of this node's outlying voters
             }
 
-            public void restore( final UnadjustedNodeV node, final Parcel in, final RKit kit )
+            private void restoreVoters( final UnadjustedNodeV node, final StateIn in, final RKit kit )
             {
               // 1.
               // - - -
@@ -154,7 +247,7 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
                     {
                       // a.
                       // - - -
-                        final VotingID id = (VotingID)AndroidXID.readUDID( in );
+                        final VotingID id = (VotingID)AndroidXID.readPackedUDID( in );
 
                       // - - -
                         inlyingVoters[v++] = node.restoreVoter( id, in, kit, rootwardHither );
@@ -165,7 +258,7 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
 
               // 2.
               // - - -
-                VotingID id = (VotingID)AndroidXID.readUDIDOrNull( in );
+                VotingID id = (VotingID)AndroidXID.readPackedUDIDOrNull( in );
                 if( id == null ) return; // no outlying voters
 
                 final RootwardCast<UnadjustedNode> rootwardHither = node.rootwardHither_getOrMake();
@@ -175,11 +268,20 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
 
                   // a.
                   // - - -
-                    id = (VotingID)AndroidXID.readUDIDOrNull( in );
+                    id = (VotingID)AndroidXID.readPackedUDIDOrNull( in );
                 }
                 while( id != null );
             }
 
+            private final ThreadLocal<VoterTreeQueue<UnadjustedNodeV>> votersQueue =
+              new ThreadLocal<VoterTreeQueue<UnadjustedNodeV>>()
+            {
+                protected @Override VoterTreeQueue<UnadjustedNodeV> initialValue()
+                {
+                    return new VoterTreeQueue<>();
+                }
+            };
+
         });}
 
 
@@ -196,11 +298,11 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
 
         static { stators.add( new Stator<UnadjustedNodeV>()
         {
-            public void save( final UnadjustedNodeV una, final Parcel out )
+            public void save( final UnadjustedNodeV una, final StateOut out )
             {
                 out.writeInt( una.votersNextOrdinal );
             }
-            public void restore( final UnadjustedNodeV una, final Parcel in )
+            public void restore( final UnadjustedNodeV una, final StateIn in )
             {
                 una.votersNextOrdinal = in.readInt();
             }
@@ -259,7 +361,7 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
         public void encache( final UnadjustedNode node );
 
 
-        /** Adds a restored node to the list of {@linkplain SKit#outlyingVotersUna()
+        /** Adds a restored node to the list of {@linkplain SKit#outlyingVotersUna(UnadjustedNodeV)
           * outlying voters}, thus partially restoring it, too.
           */
         public void enlistOutlyingVoter( UnadjustedNode1 node );
@@ -277,11 +379,12 @@ public abstract class UnadjustedNodeV extends UnadjustedNode
 
        // - U n a d j u s t e d - N o d e - V . S - K i t ----------------------------------------------
 
-        /** An unordered list of unadjusted voters that are cached but unlisted by their candidates
-          * owing to incomplete extension of their {@linkplain #voters() internal voter lists}.  When a
-          * candidate saves its voters, it will scan this list for any outliers and save them too.
+        /** The list of unadjusted voters of the given candidate that are cached but unlisted by it
+          * owing to incomplete extension of its {@linkplain #voters() internal voter list}.  When a
+          * candidate saves its voters, it will save these outliers too.  The list is indexed by
+          * candidate, so sparing each candidate a scan of all outliers.
           */
-        public List<UnadjustedNode1> outlyingVotersUna();
+        public List<UnadjustedNode1> outlyingVotersUna( UnadjustedNodeV candidate );
 
     }
 
@@ -0,0 +1,298 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import waymaker.gen.*;
+import waymaker.spec.*;
+
+
+/** A scanner that reads the vote from the raw bytes of a position document (position.xht), sparing the
+  * cost of a full XML parse.  It scans the start tags, skipping comments, processing instructions and
+  * a document type declaration, and decodes the ‘candidate’ attribute of each ‘vote’ element directly
+  * from the bytes.  It declines to scan a document that it cannot read with confidence, such as one in
+  * an encoding other than UTF-8, or one with a CDATA section, an internal DTD subset, a prefixed ‘vote’
+  * element, or an entity or character reference anywhere outside of a comment.  The caller should then
+  * fall back to a full XML parser, which alone decides the validity of such references.  A scanner is
+  * reusable, but single threaded.
+  */
+final class VoteScanner
+{
+
+
+    /** Scans the given document for its vote.
+      *
+      *     @param doc The bytes of the document in the range 0 to docN.
+      *     @param docID The document ID, for the purpose of failure messages.
+      *     @return True if the document was scanned, and the vote is ready in {@linkplain #votedID()
+      *       votedID}; false if the scanner declined to scan it.
+      *     @throws CountFailure if the vote is for the actor itself.
+      */
+    boolean scan( final byte[] doc, final int docN, final VotingID actorID, final String docID )
+      throws CountFailure
+    {
+        // position.xht form: http://reluk.ca/100-0/  (view source)
+        votedID = null; // thus far
+        int b = 0; // index of next byte to scan
+        if( docN >= 3 && doc[0] == (byte)0xEF && doc[1] == (byte)0xBB && doc[2] == (byte)0xBF ) b = 3;
+          // skipping the byte order mark of UTF-8
+        else if( docN >= 2 && (doc[0] == 0 || doc[1] == 0 || doc[0] == (byte)0xFE || doc[0] == (byte)0xFF) )
+        {
+            return false; // UTF-16 or UTF-32
+        }
+
+        for( ;; )
+        {
+            final int textStart = b;
+            b = indexOf( (byte)'<', doc, b, docN );
+            if( indexOf( (byte)'&', doc, textStart, b < 0? docN: b ) >= 0 ) return false;
+              // entity or character reference in text, which only the parser can resolve or reject
+            if( b < 0 ) return true; // end of document
+
+            ++b;
+            if( b >= docN ) return false; // malformed, leave it to the parser to report
+
+            final byte ch = doc[b];
+            if( ch == '?' ) // processing instruction or XML declaration
+            {
+                final int bEnd = indexOf( "?>", doc, b, docN );
+                if( bEnd < 0 || indexOf( (byte)'&', doc, b, bEnd ) >= 0 ) return false;
+
+                final boolean isDeclaration = startsWith( doc, b, bEnd, "?xml" ) && b + 4 < bEnd
+                  && isWhitespace( doc[b+4] ); // not merely a PI target such as xml-stylesheet
+                if( isDeclaration && !isEncodingUTF8( doc, b + 4, bEnd )) return false;
+
+                b = bEnd + 2;
+            }
+            else if( ch == '!' )
+            {
+                if( startsWith( doc, b, docN, "!--" ))
+                {
+                    final int bEnd = indexOf( "-->", doc, b + 3, docN );
+                    if( bEnd < 0 ) return false;
+
+                    b = bEnd + 3;
+                }
+                else if( startsWith( doc, b, docN, "!DOCTYPE" ))
+                {
+                    final int bEnd = indexOf( (byte)'>', doc, b, docN );
+                    if( bEnd < 0 || indexOf( (byte)'[', doc, b, bEnd ) >= 0 ) return false;
+                      // internal subset, which might declare entities
+                    if( indexOf( (byte)'&', doc, b, bEnd ) >= 0 ) return false;
+
+                    b = bEnd + 1;
+                }
+                else return false; // CDATA section, or other markup beyond scope
+            }
+            else if( ch == '/' ) // end tag
+            {
+                final int bEnd = indexOf( (byte)'>', doc, b, docN );
+                if( bEnd < 0 || indexOf( (byte)'&', doc, b, bEnd ) >= 0 ) return false;
+
+                b = bEnd + 1;
+            }
+            else // start tag
+            {
+                final int nameStart = b;
+                while( b < docN && !isNameEnd( doc[b] )) ++b;
+                final int nameEnd = b;
+                if( nameEnd == nameStart ) return false; // malformed
+
+                final boolean isVote = regionEquals( doc, nameStart, nameEnd, "vote" );
+                if( !isVote && nameEnd - nameStart > 5 && regionEquals( doc, nameEnd - 5, nameEnd, ":vote" ))
+                {
+                    return false; // prefixed, so namespace may or may not be that of a vote
+                }
+
+                b = scanAttributes( doc, b, docN, isVote, actorID, docID );
+                if( b < 0 ) return false;
+            }
+        }
+    }
+
+
+
+    /** The vote that was found by the latest successful {@linkplain #scan(byte[],int,VotingID,String)
+      * scan}, which is the candidate of the final vote element in the document, or null if there is
+      * none.
+      */
+    VotingID votedID() { return votedID; }
+
+
+        private VotingID votedID;
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final CharSequenceOnBytes candidateSequence = new CharSequenceOnBytes(); // cache for reuse
+
+
+
+    /** @return The index of the first occurrence of byte ch in the range of bytes from b to bEnd, or -1
+      *   if there is none.
+      */
+    private static int indexOf( final byte ch, final byte[] doc, int b, final int bEnd )
+    {
+        for( ; b < bEnd; ++b ) if( doc[b] == ch ) return b;
+
+        return -1;
+    }
+
+
+
+    /** @return The index of the first occurrence of ASCII string s in the range of bytes from b to bEnd,
+      *   or -1 if there is none.
+      */
+    private static int indexOf( final String s, final byte[] doc, int b, final int bEnd )
+    {
+        final byte ch = (byte)s.charAt( 0 );
+        for( ;; ++b )
+        {
+            b = indexOf( ch, doc, b, bEnd );
+            if( b < 0 ) return -1;
+
+            if( startsWith( doc, b, bEnd, s )) return b;
+        }
+    }
+
+
+
+    /** Answers whether the XML declaration in the range of bytes from b to bEnd declares either the
+      * UTF-8 encoding or none at all, which implies UTF-8.
+      */
+    private static boolean isEncodingUTF8( final byte[] doc, int b, final int bEnd )
+    {
+        b = indexOf( "encoding", doc, b, bEnd );
+        if( b < 0 ) return true; // default encoding, UTF-8
+
+        b = skipWhitespace( doc, b + "encoding".length(), bEnd );
+        if( b >= bEnd || doc[b] != '=' ) return false;
+
+        b = skipWhitespace( doc, b + 1, bEnd );
+        if( b >= bEnd ) return false;
+
+        final byte quote = doc[b];
+        if( quote != '"' && quote != '\'' ) return false;
+
+        final int vStart = b + 1;
+        final int vEnd = indexOf( quote, doc, vStart, bEnd );
+        if( vEnd - vStart != "UTF-8".length() ) return false; // or vEnd is -1
+
+        return regionEqualsIgnoreCase( doc, vStart, vEnd, "UTF-8" );
+    }
+
+
+
+    private static boolean isNameEnd( final byte ch ) { return ch == '>' || ch == '/' || isWhitespace( ch ); }
+
+
+
+    private static boolean isWhitespace( final byte ch )
+    {
+        return ch == ' ' || ch == '\n' || ch == '\t' || ch == '\r';
+    }
+
+
+
+    private static boolean regionEquals( final byte[] doc, int b, final int bEnd, final String s )
+    {
+        if( bEnd - b != s.length() ) return false;
+
+        for( int c = 0; b < bEnd; ++b, ++c ) if( doc[b] != s.charAt(c) ) return false;
+
+        return true;
+    }
+
+
+
+    private static boolean regionEqualsIgnoreCase( final byte[] doc, int b, final int bEnd, final String s )
+    {
+        if( bEnd - b != s.length() ) return false;
+
+        for( int c = 0; b < bEnd; ++b, ++c )
+        {
+            if( Character.toUpperCase( (char)doc[b] ) != Character.toUpperCase( s.charAt(c) )) return false;
+        }
+        return true;
+    }
+
+
+
+    /** Scans the attributes of a start tag, from its name through its end.
+      *
+      *     @param b The index of the byte just after the element name.
+      *     @param isVote Whether the element is a vote.
+      *     @return The index of the byte just after the end of the tag, or -1 if the scanner declines to
+      *       scan the tag.
+      */
+    private int scanAttributes( final byte[] doc, int b, final int docN, final boolean isVote,
+      final VotingID actorID, final String docID ) throws CountFailure
+    {
+        for( ;; )
+        {
+            b = skipWhitespace( doc, b, docN );
+            if( b >= docN ) return -1;
+
+            if( doc[b] == '>' ) return b + 1;
+
+            if( doc[b] == '/' ) return b + 1 < docN && doc[b+1] == '>'? b + 2: -1;
+
+          // Name.
+          // - - - -
+            final int nameStart = b;
+            while( b < docN && doc[b] != '=' && !isNameEnd( doc[b] )) ++b;
+            final int nameEnd = b;
+            if( nameEnd == nameStart ) return -1;
+
+          // Value.
+          // - - - -
+            b = skipWhitespace( doc, b, docN );
+            if( b >= docN || doc[b] != '=' ) return -1;
+
+            b = skipWhitespace( doc, b + 1, docN );
+            if( b >= docN ) return -1;
+
+            final byte quote = doc[b];
+            if( quote != '"' && quote != '\'' ) return -1;
+
+            final int vStart = b + 1;
+            final int vEnd = indexOf( quote, doc, vStart, docN );
+            if( vEnd < 0 ) return -1;
+
+            b = vEnd + 1;
+            if( indexOf( (byte)'<', doc, vStart, vEnd ) >= 0 ) return -1; // malformed, leave it to the parser
+
+            if( indexOf( (byte)'&', doc, vStart, vEnd ) >= 0 ) return -1; // entity or character reference
+
+            if( !isVote || !regionEquals( doc, nameStart, nameEnd, "candidate" )) continue;
+
+            if( vEnd == vStart ) return -1; // empty, leave it to the parser
+
+            final VotingID id = (VotingID)UDID.makeOrNull( candidateSequence.reset( doc, vStart, vEnd ));
+            if( id == null ) return -1; // malformed, leave it to the parser to report
+            if( id.equals( actorID ))
+            {
+                throw new CountFailure( "Self voting " + actorID + " in file " + docID );
+                  // demand correction of this useless vote
+            }
+
+            votedID = id; // keep going, only final vote applies
+        }
+    }
+
+
+
+    private static int skipWhitespace( final byte[] doc, int b, final int bEnd )
+    {
+        while( b < bEnd && isWhitespace( doc[b] )) ++b;
+        return b;
+    }
+
+
+
+    private static boolean startsWith( final byte[] doc, final int b, final int bEnd, final String s )
+    {
+        return b + s.length() <= bEnd && regionEquals( doc, b, b + s.length(), s );
+    }
+
+
+}
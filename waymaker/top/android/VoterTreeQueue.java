@@ -0,0 +1,68 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.util.ArrayDeque;
+import waymaker.gen.*;
+
+
+/** A first-in first-out queue of nodes whose voters are pending to be saved or restored.  It lets the
+  * voters stator of a node persist the whole voter tree upstream of the node by iteration, rather
+  * than by recursion to a depth equal to the height of the tree.  The outermost call to the stator
+  * drains the queue, while each nested call for an upstream voter merely enqueues the voter and
+  * returns.  So the voter lists of the tree are persisted breadth first, each after the other state
+  * of its node.  Restoration follows the same order as saving, and therefore restores the same
+  * structure.
+  *
+  *     @param <N> The type of node.
+  */
+@ThreadRestricted final class VoterTreeQueue<N> // to a single thread, as by ThreadLocal
+{
+
+
+    /** Appends the node to the queue.
+      *
+      *     @return True if the caller is the outermost caller and must therefore drain the queue by
+      *       {@linkplain #poll() polling} it; false if the node is left for the outermost caller.
+      */
+    boolean enqueue( final N node )
+    {
+        queue.add( node );
+        if( isDraining ) return false;
+
+        isDraining = true;
+        return true;
+    }
+
+
+
+    /** Removes and returns the next node, or returns null if the queue is drained.
+      */
+    N poll()
+    {
+        final N node = queue.poll();
+        if( node == null ) isDraining = false;
+        return node;
+    }
+
+
+
+    /** Empties the queue, ending any draining of it, as after a failure.
+      */
+    void reset()
+    {
+        queue.clear();
+        isDraining = false;
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private boolean isDraining;
+
+
+
+    private final ArrayDeque<N> queue = new ArrayDeque<>();
+
+
+}
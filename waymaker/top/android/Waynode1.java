@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2016 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import waymaker.gen.*;
 
 
@@ -53,7 +52,7 @@ public @ThreadSafe final class Waynode1 implements Waynode
       *     @param inP The parceled state to restore.
       */
       @ThreadRestricted("KittedPolyStatorSR.openToThread") // for stators.startCtorRestore
-    private Waynode1( final Parcel inP )
+    private Waynode1( final StateIn inP )
     {
         int s = stators.startCtorRestore( this, inP );
         assert stators.get(s++) == answer_stator;
@@ -74,10 +73,10 @@ public @ThreadSafe final class Waynode1 implements Waynode
 
     /** Reconstructs a Waynode1 from the parcel with efficient handling for a frequent default instance.
       *
-      *     @see PolyStator#saveD(Object,Parcel,Object)
+      *     @see PolyStator#saveD(Object,StateOut,Object)
       */
-      @ThreadRestricted("KittedPolyStatorSR.openToThread") // for Waynode1(Parcel)
-    public static Waynode1 makeD( final Parcel inP, final Waynode1 wnDefault )
+      @ThreadRestricted("KittedPolyStatorSR.openToThread") // for Waynode1(StateIn)
+    public static Waynode1 makeD( final StateIn inP, final Waynode1 wnDefault )
     {
       // 1.
       // - - -
@@ -111,7 +110,7 @@ public @ThreadSafe final class Waynode1 implements Waynode
 
         private static final Object answer_stator = stators.add( new StateSaver<Waynode1>()
         {
-            public void save( final Waynode1 wn, final Parcel out )
+            public void save( final Waynode1 wn, final StateOut out )
             {
                 ParcelX.writeString( wn.answer(), out, DEFAULT_ANSWER );
             }
@@ -127,7 +126,7 @@ public @ThreadSafe final class Waynode1 implements Waynode
 
         private static final Object handle_stator = stators.add( new StateSaver<Waynode1>()
         {
-            public void save( final Waynode1 wn, final Parcel out ) { out.writeString( wn.handle() ); }
+            public void save( final Waynode1 wn, final StateOut out ) { out.writeString( wn.handle() ); }
         });
 
 
@@ -143,7 +142,7 @@ public @ThreadSafe final class Waynode1 implements Waynode
 
         private static final Object question_stator = stators.add( new StateSaver<Waynode1>()
         {
-            public void save( final Waynode1 wn, final Parcel out )
+            public void save( final Waynode1 wn, final StateOut out )
             {
                 ParcelX.writeString( wn.question(), out, DEFAULT_QUESTION );
             }
@@ -159,7 +158,7 @@ public @ThreadSafe final class Waynode1 implements Waynode
 
         private static final Object questionBackImageLoc_stator = stators.add( new StateSaver<Waynode1>()
         {
-            public void save( final Waynode1 wn, final Parcel out )
+            public void save( final Waynode1 wn, final StateOut out )
             {
                 out.writeString( wn.questionBackImageLoc() );
             }
@@ -50,13 +50,14 @@ public final class Wayranging extends ActivityX implements Refreshable
             // restoring the complex whole as originally created using constructors and/or initializers to
             // inject its external dependencies.  All that remains therefore is to restore the state of the
             // internal variables of each reconstructed object.  All state is restored from a single parcel:
+            // A parcel, as opposed to a mere StateOnBuffer, because the state includes a Parcelable.
             final Parcel inP = Parcel.obtain();
             try
             {
                 inP.unmarshall( state, 0, state.length ); // (sic) form state into parcel
                 inP.setDataPosition( 0 ); // (undocumented requirement)
                 KittedPolyStatorSR.openToThread();
-                create2( inP );
+                create2( new StateOnParcel( inP ));
             }
             finally { inP.recycle(); }
         }
@@ -78,7 +79,7 @@ public final class Wayranging extends ActivityX implements Refreshable
       *   openToThread restriction is lifted.
       */
       @ThreadRestricted("further KittedPolyStatorSR.openToThread") // for stators.startCtorRestore
-    private void create2( final Parcel inP ) // see Recreating an Activity [RA]
+    private void create2( final StateIn inP ) // see Recreating an Activity [RA]
     {
         int s = inP == null? stators.leaderSize(): stators.startCtorRestore(this,inP);
 
@@ -131,7 +132,7 @@ public final class Wayranging extends ActivityX implements Refreshable
 
         private static final Object actorID_stator = stators.add( new StateSaver<Wayranging>()
         {
-            public void save( final Wayranging wr, final Parcel out )
+            public void save( final Wayranging wr, final StateOut out )
             {
                 AndroidXID.writeUDIDOrNull( wr.actorID.get(), out );
             }
@@ -165,7 +166,7 @@ public final class Wayranging extends ActivityX implements Refreshable
 
         private static final Object forests_stator = stators.add( new StateSaver<Wayranging>()
         {
-            public void save( final Wayranging wr, final Parcel out )
+            public void save( final Wayranging wr, final StateOut out )
             {
                 ForestCache.stators.save( wr.forests, out );
             }
@@ -224,7 +225,7 @@ public final class Wayranging extends ActivityX implements Refreshable
 
         private static final Object pollName_stator = stators.add( new StateSaver<Wayranging>()
         {
-            public void save( final Wayranging wr, final Parcel out )
+            public void save( final Wayranging wr, final StateOut out )
             {
                 out.writeString( wr.pollName.get() );
             }
@@ -275,12 +276,12 @@ public final class Wayranging extends ActivityX implements Refreshable
 
             static { stators.add( new Stator<Wayranging>()
             {
-                public void save( final Wayranging wr, final Parcel out )
+                public void save( final Wayranging wr, final StateOut out )
                 {
                     ParcelX.writeParcelable( wr.startActivity_resultReceiver, out );
                     out.writeInt( wr.startActivity_requestCode );
                 }
-                public void restore( final Wayranging wr, final Parcel in )
+                public void restore( final Wayranging wr, final StateIn in )
                 {
                     wr.startActivity_resultReceiver = ParcelX.readParcelable( in );
                     wr.startActivity_requestCode = in.readInt();
@@ -299,11 +300,11 @@ public final class Wayranging extends ActivityX implements Refreshable
 
         static { stators.add( new Stator<Wayranging>()
         {
-            public void save( final Wayranging wr, final Parcel out )
+            public void save( final Wayranging wr, final StateOut out )
             {
                 WayscopeZoomer.stators.save( wr.wayscopeZoomer, out );
             }
-            public void restore( final Wayranging wr, final Parcel in )
+            public void restore( final Wayranging wr, final StateIn in )
             {
                 WayscopeZoomer.stators.restore( wr.wayscopeZoomer, in );
             }
@@ -397,7 +398,7 @@ public final class Wayranging extends ActivityX implements Refreshable
         final Parcel outP = Parcel.obtain();
         try
         {
-            stators.save( this, outP ); // save all state variables to parcel, (b) after (a)
+            stators.save( this, new StateOnParcel(outP) ); // save all state variables to parcel, (b) after (a)
             state = outP.marshall(); // (sic) form parcel into state
         }
         finally { outP.recycle(); }
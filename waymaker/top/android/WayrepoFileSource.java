@@ -0,0 +1,117 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.io.*;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import waymaker.gen.*;
+
+import static android.provider.DocumentsContract.Document.MIME_TYPE_DIR;
+
+
+/** A source of documents from a wayrepo in the local file system, read directly without the
+  * intervention of a documents provider.  This is the fast path for a wayrepo on local storage.  It
+  * needs no Android services, so it also serves to run the precount on a plain Java runtime.  Each
+  * document ID is the path of a file or directory.
+  */
+public final class WayrepoFileSource implements WayrepoSource
+{
+
+
+    /** Constructs a WayrepoFileSource.
+      *
+      *     @param root The top directory of the wayrepo.
+      */
+    public @ThreadSafe WayrepoFileSource( final File root ) { this.root = root; }
+
+
+
+    /** Returns a device to open file sources of the wayrepo at the given root.
+      */
+    public static @ThreadSafe Opener opener( final File root )
+    {
+        return new Opener()
+        {
+            public String location() { return root.getPath(); }
+            public WayrepoSource openSource() { return new WayrepoFileSource( root ); }
+        };
+    }
+
+
+
+   // - W a y r e p o - S o u r c e ------------------------------------------------------------------
+
+
+    public List<WayrepoIndex.Entry> list( final String parentID ) throws WayrepoAccessFailure,
+      InterruptedException
+    {
+        if( Thread.currentThread().isInterrupted() ) throw new InterruptedException();
+
+        final File[] files = new File(parentID).listFiles();
+        if( files == null ) throw new WayrepoAccessFailure( "Cannot read wayrepo directory: " + parentID );
+
+        final ArrayList<WayrepoIndex.Entry> entries = new ArrayList<>( /*initialCapacity*/files.length );
+        for( final File file: files )
+        {
+            final String name = file.getName();
+            final boolean isDirectory = file.isDirectory();
+            final long lastModified = file.lastModified(); // zero if unknown
+            final String mimeType;
+            if( isDirectory ) mimeType = MIME_TYPE_DIR;
+            else
+            {
+                final String type = URLConnection.guessContentTypeFromName( name );
+                mimeType = type == null? "application/octet-stream": type;
+            }
+            entries.add( new WayrepoIndex.Entry( /*docID*/file.getPath(), name, mimeType,
+              lastModified == 0L? -1L: lastModified, /*size*/isDirectory? -1L: file.length(),
+              Collections.<WayrepoIndex.Entry>emptyList() ));
+        }
+        return entries;
+    }
+
+
+
+    /** Reads the whole document through a file channel, and returns a stream over the bytes in memory.
+      */
+    public InputStream openDocument( final String docID ) throws WayrepoAccessFailure
+    {
+        try( final FileChannel channel = new FileInputStream(docID).getChannel(); )
+        {
+            final long size = channel.size();
+            if( size > Integer.MAX_VALUE ) throw new WayrepoAccessFailure( "Document too large: " + docID );
+
+            final ByteBuffer buffer = ByteBuffer.allocate( (int)size );
+            while( buffer.hasRemaining() && channel.read(buffer) >= 0 ) continue;
+              // until full, or end of file if it shrank meanwhile
+            return new ByteArrayInputStream( buffer.array(), 0, buffer.position() );
+        }
+        catch( final WayrepoAccessFailure x ) { throw x; }
+        catch( final IOException x ) { throw new WayrepoAccessFailure( x ); }
+    }
+
+
+
+    public String ownerName() { return root.getName(); }
+
+
+
+    public String rootID() { return root.getPath(); }
+
+
+
+   // - C l o s e a b l e ------------------------------------------------------------------------------
+
+
+    public void close() {} // nothing to release
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final File root;
+
+
+}
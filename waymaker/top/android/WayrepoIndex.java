@@ -0,0 +1,320 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.util.*;
+import waymaker.gen.*;
+import waymaker.spec.*;
+
+import static android.provider.DocumentsContract.Document.MIME_TYPE_DIR;
+
+
+/** A catalogue of the poll documents in the user’s local wayrepo, read in a single pass.  It lists the
+  * poll directories, and within each poll directory its files, its ‘pipe’ directory and the files of
+  * each pipe.  The index is read once per refresh, then shared by all {@linkplain Precounter
+  * precounters} of that refresh, each of which would otherwise walk the same directories again.  This
+  * matters because each directory query is a round trip to the documents provider, which may take
+  * seconds when the wayrepo is remote.
+  */
+public @ThreadSafe final class WayrepoIndex
+{
+
+
+    /** Constructs a WayrepoIndex by reading the wayrepo.
+      *
+      *     @see #opener()
+      *     @throws WayrepoAccessFailure if the wayrepo cannot be read, or it has no ‘poll’ directory.
+      *     @throws MalformedID if the name of the wayrepo is not a well formed person identifier.
+      */
+    public WayrepoIndex( final WayrepoSource.Opener opener ) throws WayrepoAccessFailure, MalformedID,
+      InterruptedException
+    {
+        this.opener = opener;
+        try( final WayrepoSource source = opener.openSource() )
+        {
+            String docID = null; // thus far
+            for( final Entry entry: source.list( source.rootID() ))
+            {
+                if( entry.isDirectory() && "poll".equals(entry.name()) )
+                {
+                    docID = entry.docID();
+                    break;
+                }
+            }
+            if( docID == null ) throw new WayrepoAccessFailure( "Missing 'poll' directory" );
+
+            ownerID = PersonID.make( source.ownerName() ); // just after list, as ownerName requires
+            pollMap = listPolls( docID, source );
+        }
+    }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Returns a fingerprint of the documents that a precount would read for the named poll, or
+      * NO_FINGERPRINT if it cannot be formed.  The fingerprint covers the identity, name, modification
+      * time and size of each position and waynode file, the name of each pipe directory, the owner of
+      * the wayrepo and its location.  It changes whenever any of these changes, except in the rare case
+      * of a hash collision.  It cannot be formed when the poll has no directory, or the documents
+      * provider does not report the modification time of one of its files.
+      */
+    public long fingerprint( final String pollName )
+    {
+        final Entry pollDirectory = pollMap.get( pollName );
+        if( pollDirectory == null ) return NO_FINGERPRINT;
+
+        long f = 0; // thus far, summing the mix of each part in order that the order is immaterial
+        for( final Entry entry: pollDirectory.children() )
+        {
+            final String name = entry.name();
+            if( !entry.isDirectory() )
+            {
+                if( !"position.xht".equals( name )) continue;
+
+                if( entry.lastModified() < 0 ) return NO_FINGERPRINT; // change would go undetected
+
+                f += fingerprint( entry, /*context*/0 );
+            }
+            else if( "pipe".equals( name )) for( final Entry pipeDirectory: entry.children() )
+            {
+                if( !pipeDirectory.isDirectory() ) continue;
+
+                final long pipeHash = MathX.mix( pipeDirectory.name().hashCode() );
+                f += pipeHash; // the pipe alone, which may be a stub root
+                for( final Entry file: pipeDirectory.children() )
+                {
+                    if( file.isDirectory() ) continue;
+
+                    final String fn = file.name();
+                    if( !"position.xht".equals(fn) && !"end.xht".equals(fn) && !"transnorm.xht".equals(fn)
+                      && !"act.xht".equals(fn) ) continue;
+
+                    if( file.lastModified() < 0 ) return NO_FINGERPRINT; // change would go undetected
+
+                    f += fingerprint( file, /*context*/pipeHash );
+                }
+            }
+        }
+        f = MathX.mix( f + 31L * ownerID.toString().hashCode() + opener.location().hashCode() );
+        if( f == NO_FINGERPRINT ) f = 1; // keeping the value reserved
+        return f;
+    }
+
+
+
+    /** The value of a fingerprint that cannot be formed.
+      *
+      *     @see #fingerprint(String)
+      */
+    public static final long NO_FINGERPRINT = 0;
+
+
+
+    /** The device that opened the source of this index, which may be used to open further sources
+      * of the same wayrepo.
+      */
+    public WayrepoSource.Opener opener() { return opener; }
+
+
+        private final WayrepoSource.Opener opener;
+
+
+
+    /** The identifier of the wayrepo owner, typically the user.
+      */
+    public PersonID ownerID() { return ownerID; }
+
+
+        private final PersonID ownerID;
+
+
+
+    /** Returns the entry of the named poll directory, or null if the wayrepo has none.  The children of
+      * the entry are its files and directories, among which the children of a ‘pipe’ directory are the
+      * pipe directories, and the children of each pipe directory are its files.
+      */
+    public Entry poll( final String pollName ) { return pollMap.get( pollName ); }
+
+
+
+    /** The entries of all poll directories having well formed names.  Do not modify the collection.
+      */
+    public Collection<Entry> polls() { return pollMap.values(); }
+
+
+        private final HashMap<String,Entry> pollMap; // keyed by poll name
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private static long fingerprint( final Entry file, final long context )
+    {
+        long h = context;
+        h = h * 31 + file.docID().hashCode();
+        h = h * 31 + file.name().hashCode();
+        h = h * 31 + file.lastModified();
+        h = h * 31 + file.size();
+        return MathX.mix( h );
+    }
+
+
+
+    private static final java.util.logging.Logger logger = LoggerX.getLogger( WayrepoIndex.class );
+
+
+
+    /** Returns a copy of the given poll directory entry, populated with children to the depth of the
+      * pipe files.
+      */
+    private static Entry listPoll( final Entry pollDirectory, final WayrepoSource source )
+      throws WayrepoAccessFailure, InterruptedException
+    {
+        final List<Entry> children = source.list( pollDirectory.docID() );
+        for( int c = children.size() - 1; c >= 0; --c )
+        {
+            final Entry child = children.get( c );
+            if( !child.isDirectory() || !"pipe".equals(child.name()) ) continue;
+
+            final List<Entry> pipes = source.list( child.docID() );
+            for( int p = pipes.size() - 1; p >= 0; --p )
+            {
+                final Entry pipe = pipes.get( p );
+                if( !pipe.isDirectory() ) continue;
+
+                pipes.set( p, pipe.withChildren( source.list( pipe.docID() )));
+            }
+            children.set( c, child.withChildren( pipes ));
+        }
+        return pollDirectory.withChildren( children );
+    }
+
+
+
+    private static HashMap<String,Entry> listPolls( final String pollID, final WayrepoSource source )
+      throws WayrepoAccessFailure, InterruptedException
+    {
+      // Catalogue the poll directories.
+      // - - - - - - - - - - - - - - - - -
+        final Thread t = Thread.currentThread();
+        final ArrayList<Entry> pollDirectories = new ArrayList<>();
+        for( final Entry entry: source.list( pollID ))
+        {
+            if( !entry.isDirectory() ) continue;
+
+            final String dirName = entry.name();
+            if( !ServerCount.isPollNameForm( dirName ))
+            {
+                logger.info( "Skipping wayrepo poll directory with malformed name: '" + dirName + "'" );
+                continue;
+            }
+
+            if( t.isInterrupted() ) throw new InterruptedException();
+
+            pollDirectories.add( listPoll( entry, source ));
+        }
+        final HashMap<String,Entry> map = new HashMap<>( MapX.hashCapacity(pollDirectories.size()),
+          MapX.HASH_LOAD_FACTOR );
+        for( final Entry entry: pollDirectories ) map.put( entry.name(), entry );
+        return map;
+    }
+
+
+
+   // ==================================================================================================
+
+
+    /** A catalogued document, either a file or a directory.
+      */
+    public static @ThreadSafe final class Entry
+    {
+
+        /** Constructs an Entry.
+          *
+          *     @see #docID()
+          *     @see #name()
+          *     @see #mimeType()
+          *     @see #lastModified()
+          *     @see #size()
+          *     @see #children()
+          */
+        public Entry( final String docID, final String name, final String mimeType, final long lastModified,
+          final long size, final List<Entry> children )
+        {
+            this.docID = docID;
+            this.name = name;
+            this.mimeType = mimeType;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.children = children;
+        }
+
+
+        Entry withChildren( final List<Entry> c )
+        {
+            return new Entry( docID, name, mimeType, lastModified, size, c );
+        }
+
+
+       // ----------------------------------------------------------------------------------------------
+
+
+        /** The catalogued children of this document, which is empty if it is a file or an uncatalogued
+          * directory.  Do not modify the list.
+          */
+        public List<Entry> children() { return children; }
+
+
+            private final List<Entry> children;
+
+
+        /** The document identity tag.
+          */
+        public String docID() { return docID; }
+
+
+            private final String docID;
+
+
+        /** Answers whether this document is a directory.
+          */
+        public boolean isDirectory() { return MIME_TYPE_DIR.equals( mimeType ); }
+
+
+        /** The time at which the document was last modified in milliseconds since the epoch, or -1 if
+          * the documents provider does not know it.
+          */
+        public long lastModified() { return lastModified; }
+
+
+            private final long lastModified;
+
+
+        /** The MIME type of the document.
+          */
+        public String mimeType() { return mimeType; }
+
+
+            private final String mimeType;
+
+
+        /** The display name of the document.
+          */
+        public String name() { return name; }
+
+
+            private final String name;
+
+
+        /** The size of the document in bytes, or -1 if the documents provider does not know it.
+          */
+        public long size() { return size; }
+
+
+            private final long size;
+
+    }
+
+
+}
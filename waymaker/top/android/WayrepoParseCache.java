@@ -0,0 +1,296 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.io.*;
+import java.util.*;
+import waymaker.gen.*;
+import waymaker.spec.*;
+
+import static java.util.logging.Level.WARNING;
+
+
+/** A persistent cache of the results of parsing wayrepo documents, which spares the cost of reading and
+  * parsing a document that is unchanged since its last parse.  Each record is keyed by the document
+  * ID, and is valid only while the modification time and size of the document are unchanged.  The
+  * least recently used records are evicted when the number exceeds {@value #MAX_RECORDS}.  The cache
+  * is loaded from its file on first use, and stored back only on a call to {@linkplain #save() save}.
+  */
+public @ThreadSafe final class WayrepoParseCache
+{
+
+
+    /** Constructs a WayrepoParseCache.
+      *
+      *     @param file The file in which to persist the cache.
+      */
+    public WayrepoParseCache( final File file ) { this.file = file; }
+
+
+
+   // --------------------------------------------------------------------------------------------------
+
+
+    /** Returns the cached record of parsing the given document, or null if there is no valid record.
+      */
+    public synchronized Record get( final WayrepoIndex.Entry doc )
+    {
+        if( doc.lastModified() < 0 ) return null; // change would go undetected, so cannot be cached
+
+        final Record record = recordMap().get( doc.docID() );
+        if( record == null || record.lastModified != doc.lastModified() || record.size != doc.size() )
+        {
+            return null;
+        }
+
+        return record;
+    }
+
+
+
+    /** The maximum number of records in the cache.
+      */
+    public static final int MAX_RECORDS = 10_000;
+
+
+
+    /** Caches the vote parsed from the given position document.
+      *
+      *     @param votedID The vote, or null if there is none.
+      */
+    public synchronized void putVote( final WayrepoIndex.Entry doc, final VotingID votedID )
+    {
+        if( doc.lastModified() < 0 ) return;
+
+        recordMap().put( doc.docID(), new Record( doc.lastModified(), doc.size(), votedID, /*waynode*/null ));
+        isDirty = true;
+    }
+
+
+
+    /** Caches the waynode parsed from the given end, transnorm or act document.  Does nothing if any of
+      * the waynode’s strings is too long to store.
+      */
+    public synchronized void putWaynode( final WayrepoIndex.Entry doc, final Waynode waynode )
+    {
+        if( doc.lastModified() < 0 ) return;
+
+        if( !isStorable(waynode.handle()) || !isStorable(waynode.answer()) || !isStorable(waynode.question())
+          || !isStorable(waynode.questionBackImageLoc()) ) return;
+
+        recordMap().put( doc.docID(), new Record( doc.lastModified(), doc.size(), /*votedID*/null,
+          new Waynode1(waynode) ));
+        isDirty = true;
+    }
+
+
+
+    /** Stores the cache to its file, if it has changed since it was loaded or last stored.
+      */
+    public synchronized void save()
+    {
+        if( !isDirty ) return;
+
+        final File fileTmp = new File( file.getPath() + ".tmp" );
+        try
+        {
+            try( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream(
+              new FileOutputStream( fileTmp ))); )
+            {
+                out.writeInt( FORMAT_VERSION );
+                out.writeInt( recordMap.size() );
+                for( final Map.Entry<String,Record> entry: recordMap.entrySet() ) // least recent first
+                {
+                    out.writeUTF( entry.getKey() );
+                    entry.getValue().write( out );
+                }
+            }
+            if( !fileTmp.renameTo( file )) throw new IOException( "Cannot rename " + fileTmp + " to " + file );
+
+            isDirty = false;
+        }
+        catch( final IOException x )
+        {
+            logger.log( WARNING, "Cannot store parse cache", x );
+            fileTmp.delete();
+        }
+    }
+
+
+
+//// P r i v a t e /////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final File file;
+
+
+
+    private static final int FORMAT_VERSION = 1;
+
+
+
+    private boolean isDirty; // whether recordMap has changed since it was loaded or last stored
+
+
+
+    private static boolean isStorable( final String s ) { return s == null || s.length() <= MAX_STRING_LENGTH; }
+
+
+        private static final int MAX_STRING_LENGTH = 0xFFFF / 3; // within limit of writeUTF
+
+
+
+    private static final java.util.logging.Logger logger = LoggerX.getLogger( WayrepoParseCache.class );
+
+
+
+    private static String readStringOrNull( final DataInputStream in ) throws IOException
+    {
+        return in.readBoolean()? in.readUTF(): null;
+    }
+
+
+
+    private LinkedHashMap<String,Record> recordMap() // loading it if necessary
+    {
+        if( recordMap == null )
+        {
+            recordMap = new LinkedHashMap<String,Record>( MapX.hashCapacity(MAX_RECORDS), MapX.HASH_LOAD_FACTOR,
+              /*accessOrder*/true )
+            {
+                protected @Override boolean removeEldestEntry( final Map.Entry<String,Record> _eldest )
+                {
+                    return size() > MAX_RECORDS;
+                }
+            };
+            if( file.exists() )
+            {
+                try( final DataInputStream in = new DataInputStream( new BufferedInputStream(
+                  new FileInputStream( file ))); )
+                {
+                    if( in.readInt() != FORMAT_VERSION ) throw new IOException( "Unknown format version" );
+
+                    for( int r = in.readInt(); r > 0; --r ) recordMap.put( in.readUTF(), Record.read( in ));
+                }
+                catch( IOException|MalformedID x )
+                {
+                    logger.log( WARNING, "Discarding unreadable parse cache", x );
+                    recordMap.clear();
+                    isDirty = true; // to overwrite the file
+                }
+            }
+        }
+        return recordMap;
+    }
+
+
+        private LinkedHashMap<String,Record> recordMap; // in access order, least recent first
+
+
+
+    private static void writeStringOrNull( final String s, final DataOutputStream out ) throws IOException
+    {
+        out.writeBoolean( s != null );
+        if( s != null ) out.writeUTF( s );
+    }
+
+
+
+   // ==================================================================================================
+
+
+    /** A cached result of parsing a document.
+      */
+    public static @ThreadSafe final class Record
+    {
+
+        Record( final long lastModified, final long size, final VotingID votedID, final Waynode1 waynode )
+        {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.votedID = votedID;
+            this.waynode = waynode;
+        }
+
+
+        static Record read( final DataInputStream in ) throws IOException, MalformedID
+        {
+            final long lastModified = in.readLong();
+            final long size = in.readLong();
+            final byte type = in.readByte();
+            if( type == TYPE_VOTE )
+            {
+                final String v = readStringOrNull( in );
+                return new Record( lastModified, size, v == null? null: (VotingID)UDID.make(v),
+                  /*waynode*/null );
+            }
+
+            if( type != TYPE_WAYNODE ) throw new IOException( "Unknown record type: " + type );
+
+            final String handle = in.readUTF();
+            final String answer = in.readUTF();
+            final String question = in.readUTF();
+            final String questionBackImageLoc = readStringOrNull( in );
+            return new Record( lastModified, size, /*votedID*/null,
+              new Waynode1( handle, answer, question, questionBackImageLoc ));
+        }
+
+
+        private static final byte TYPE_VOTE = 0;
+
+        private static final byte TYPE_WAYNODE = 1;
+
+
+        void write( final DataOutputStream out ) throws IOException
+        {
+            out.writeLong( lastModified );
+            out.writeLong( size );
+            if( waynode == null )
+            {
+                out.writeByte( TYPE_VOTE );
+                writeStringOrNull( votedID == null? null: votedID.toString(), out );
+            }
+            else
+            {
+                out.writeByte( TYPE_WAYNODE );
+                out.writeUTF( waynode.handle() );
+                out.writeUTF( waynode.answer() );
+                out.writeUTF( waynode.question() );
+                writeStringOrNull( waynode.questionBackImageLoc(), out );
+            }
+        }
+
+
+       // ----------------------------------------------------------------------------------------------
+
+
+        /** Answers whether this is the record of a waynode document, as opposed to a position
+          * document.
+          */
+        public boolean isWaynode() { return waynode != null; }
+
+
+        private final long lastModified;
+
+
+        private final long size;
+
+
+        /** The vote parsed from a position document, or null if there is none.
+          */
+        public VotingID votedID() { return votedID; }
+
+
+            private final VotingID votedID;
+
+
+        /** The waynode parsed from a waynode document, or null if this is the record of a position
+          * document.
+          */
+        public Waynode waynode() { return waynode; }
+
+
+            private final Waynode1 waynode;
+
+    }
+
+
+}
@@ -1,21 +1,26 @@
 package waymaker.top.android; // Copyright © 2015 Michael Allan.  Licence MIT.
 
 import android.content.*;
+import android.content.res.AssetFileDescriptor;
 import android.database.*;
 import android.net.Uri;
 import android.os.*;
 import android.provider.DocumentsContract; // grep DocumentsContract-TS
+import java.io.*;
+import java.util.*;
 import waymaker.gen.*;
 
 import static android.provider.DocumentsContract.Document.COLUMN_DISPLAY_NAME;
 import static android.provider.DocumentsContract.Document.COLUMN_DOCUMENT_ID;
+import static android.provider.DocumentsContract.Document.COLUMN_LAST_MODIFIED;
 import static android.provider.DocumentsContract.Document.COLUMN_MIME_TYPE;
+import static android.provider.DocumentsContract.Document.COLUMN_SIZE;
 import static android.provider.DocumentsContract.Document.MIME_TYPE_DIR;
 
 
-/** A tool for reading from the user’s local wayrepo.
+/** A tool for reading from the user’s local wayrepo by way of its documents provider.
   */
-public final class WayrepoReader implements java.io.Closeable
+public final class WayrepoReader implements WayrepoSource
 {
 
 
@@ -41,6 +46,24 @@ public final class WayrepoReader implements java.io.Closeable
 
 
 
+    /** Returns a device to open wayrepo readers.
+      *
+      *     @see #wayrepoTreeUri()
+      */
+    public static @ThreadSafe Opener opener( final Uri wayrepoTreeUri, final ContentResolver contentResolver )
+    {
+        return new Opener()
+        {
+            public String location() { return wayrepoTreeUri.toString(); }
+            public WayrepoSource openSource() throws WayrepoAccessFailure
+            {
+                return new WayrepoReader( wayrepoTreeUri, contentResolver );
+            }
+        };
+    }
+
+
+
    // --------------------------------------------------------------------------------------------------
 
 
@@ -50,7 +73,7 @@ public final class WayrepoReader implements java.io.Closeable
       */
     public String findDirectory( final String name, final String parentID ) throws WayrepoAccessFailure, InterruptedException
     {
-        try( final Cursor c/*proID_NAME_TYPE*/ = queryChildren( parentID ); )
+        try( final Cursor c/*proID_NAME_TYPE_TIME_SIZE*/ = queryChildren( parentID ); )
         {
             while( c.moveToNext() )
             {
@@ -66,17 +89,22 @@ public final class WayrepoReader implements java.io.Closeable
 
 
 
-    /** A query projection of three formal parameters:
+    /** A query projection of five formal parameters:
       * <a href='http://developer.android.com/reference/android/provider/DocumentsContract.Document.html#COLUMN_DOCUMENT_ID'
       *  target='_top'>document identity tag</a> (ID),
       * <a href='http://developer.android.com/reference/android/provider/DocumentsContract.Document.html#COLUMN_DISPLAY_NAME'
-      *  target='_top'>display name</a> (NAME) and
+      *  target='_top'>display name</a> (NAME),
       * <a href='http://developer.android.com/reference/android/provider/DocumentsContract.Document.html#COLUMN_MIME_TYPE'
-      *  target='_top'>MIME type</a> (TYPE).
+      *  target='_top'>MIME type</a> (TYPE),
+      * <a href='http://developer.android.com/reference/android/provider/DocumentsContract.Document.html#COLUMN_LAST_MODIFIED'
+      *  target='_top'>time last modified</a> (TIME) and
+      * <a href='http://developer.android.com/reference/android/provider/DocumentsContract.Document.html#COLUMN_SIZE'
+      *  target='_top'>size</a> (SIZE).
+      * The last two may be null, where the documents provider does not know them.
       * Do not modify it.
       */
-    public static final String[] proID_NAME_TYPE =
-      new String[] { COLUMN_DOCUMENT_ID, COLUMN_DISPLAY_NAME, COLUMN_MIME_TYPE };
+    public static final String[] proID_NAME_TYPE_TIME_SIZE = new String[] { COLUMN_DOCUMENT_ID,
+      COLUMN_DISPLAY_NAME, COLUMN_MIME_TYPE, COLUMN_LAST_MODIFIED, COLUMN_SIZE };
 
 
 
@@ -89,8 +117,8 @@ public final class WayrepoReader implements java.io.Closeable
 
 
 
-    /** Returns an {@linkplain #proID_NAME_TYPE ID_NAME_TYPE} cursor over the children of the given
-      * parent document.  Close the cursor when done with it.
+    /** Returns an {@linkplain #proID_NAME_TYPE_TIME_SIZE ID_NAME_TYPE_TIME_SIZE} cursor over the
+      * children of the given parent document.  Close the cursor when done with it.
       *
       *     @param parentID The document ID of the parent.
       */
@@ -113,7 +141,75 @@ public final class WayrepoReader implements java.io.Closeable
 
 
 
-   // - A u t o - C l o s e a b l e --------------------------------------------------------------------
+   // - W a y r e p o - S o u r c e ------------------------------------------------------------------
+
+
+    public List<WayrepoIndex.Entry> list( final String parentID ) throws WayrepoAccessFailure,
+      InterruptedException
+    {
+        final ArrayList<WayrepoIndex.Entry> entries = new ArrayList<>();
+        try( final Cursor c/*proID_NAME_TYPE_TIME_SIZE*/ = queryChildren( parentID ); )
+        {
+            while( c.moveToNext() )
+            {
+                entries.add( new WayrepoIndex.Entry( /*docID*/c.getString(0), /*name*/c.getString(1),
+                  /*mimeType*/c.getString(2), /*lastModified*/c.isNull(3)? -1L: c.getLong(3),
+                  /*size*/c.isNull(4)? -1L: c.getLong(4), Collections.<WayrepoIndex.Entry>emptyList() ));
+            }
+        }
+        return entries;
+    }
+
+
+
+    public InputStream openDocument( final String docID ) throws WayrepoAccessFailure
+    {
+        final Uri fileUri = DocumentsContract.buildDocumentUriUsingTree( wayrepoTreeUri, docID );
+        try
+        {
+            final AssetFileDescriptor aFD = provider.openTypedAssetFileDescriptor( fileUri,
+              /*type, any*/"*/*", /*options*/null );
+            try { return aFD.createInputStream(); } // closing the stream will also close aFD
+            catch( final IOException x )
+            {
+                aFD.close();
+                throw x;
+            }
+        }
+        catch( IOException|RemoteException x ) { throw new WayrepoAccessFailure( x ); }
+    }
+
+
+
+    public String ownerName() throws WayrepoAccessFailure
+    {
+        final Uri wayrepoUri;
+        try { wayrepoUri = DocumentsContract.buildDocumentUriUsingTree( wayrepoTreeUri, rootID() ); }
+        catch( final SecurityException x )
+        {
+            // usually but not always thrown first by acquireContentProviderClient in constructor
+            throw new WayrepoAccessFailure( WaykitUI.wayrepoTreeLoc_message(wayrepoTreeUri.toString()), x );
+        }
+
+        try
+        (
+            final Cursor c = provider.
+              query( wayrepoUri, proNAME, /*selector*/null, /*selectorArgs*/null, /*order*/null );
+        ){
+            if( c == null || !c.moveToFirst() ) throw new WayrepoAccessFailure( "Cannot read wayrepo directory" );
+
+            return c.getString( 0 );
+        }
+        catch( final RemoteException x ) { throw new WayrepoAccessFailure( x ); }
+    }
+
+
+
+    public String rootID() { return DocumentsContract.getTreeDocumentId( wayrepoTreeUri ); }
+
+
+
+   // - C l o s e a b l e ------------------------------------------------------------------------------
 
 
     public @SuppressWarnings("deprecation") void close()
@@ -143,6 +239,11 @@ public final class WayrepoReader implements java.io.Closeable
 
 
 
+    private static final String[] proNAME = new String[] { COLUMN_DISPLAY_NAME };
+      // query projection of one formal parameter: display name
+
+
+
     private Cursor queryChildren( final String parentID, int retryCount )
       throws WayrepoAccessFailure, InterruptedException
     {
@@ -150,7 +251,7 @@ public final class WayrepoReader implements java.io.Closeable
         try
         {
             c = provider.query( DocumentsContract.buildChildDocumentsUriUsingTree(wayrepoTreeUri,parentID),
-              proID_NAME_TYPE, /*selector, unsupported*/null, /*selectorArgs*/null, /*order*/null );
+              proID_NAME_TYPE_TIME_SIZE, /*selector, unsupported*/null, /*selectorArgs*/null, /*order*/null );
               // selector unsupported in base impl (DocumentsProvider.queryChildDocuments)
         }
         catch( final RemoteException x ) { throw new WayrepoAccessFailure( x ); }
@@ -0,0 +1,81 @@
+package waymaker.top.android; // Copyright © 2026 Michael Allan.  Licence MIT.
+
+import java.io.InputStream;
+import java.util.List;
+import waymaker.gen.*;
+
+
+/** A source of documents from the user’s local wayrepo.  A source is thread restricted; each thread
+  * that reads the wayrepo should {@linkplain Opener#openSource() open} a source of its own.  Call
+  * {@linkplain #close() close}() when done with it.
+  */
+public interface WayrepoSource extends java.io.Closeable
+{
+
+
+    /** Returns a new, modifiable list of the entries of the children of the given parent document, none
+      * of which is populated with children of its own.
+      *
+      *     @param parentID The document ID of the parent.
+      */
+    public List<WayrepoIndex.Entry> list( String parentID ) throws WayrepoAccessFailure,
+      InterruptedException;
+
+
+
+    /** Opens the identified document for reading.  Close the stream when done with it.
+      */
+    public InputStream openDocument( String docID ) throws WayrepoAccessFailure;
+
+
+
+    /** Returns the name of the wayrepo, which is also the identifier of its owner.  Call this just after
+      * a call to {@linkplain #list(String) list} in order to accommodate SMBProvider, which otherwise may
+      * fail to answer.
+      */
+    public String ownerName() throws WayrepoAccessFailure;
+
+
+
+    /** The document ID of the top directory of the wayrepo.
+      */
+    public String rootID();
+
+
+
+   // - C l o s e a b l e ------------------------------------------------------------------------------
+
+
+    /** Closes this source, releasing any resources that it holds.
+      */
+    public void close();
+
+
+
+   // ==================================================================================================
+
+
+    /** A device to open wayrepo sources, one for each thread that needs one.
+      */
+    public static @ThreadSafe interface Opener
+    {
+
+
+        /** The location of the wayrepo in string form, such as a {@linkplain
+          * WayrepoReader#wayrepoTreeUri() tree URI} or file path.
+          */
+        public String location();
+
+
+
+        /** Opens a new source.  Close it when done with it.
+          *
+          *     @throws WayrepoAccessFailure if access to the wayrepo is denied.
+          */
+        public WayrepoSource openSource() throws WayrepoAccessFailure;
+
+
+    }
+
+
+}
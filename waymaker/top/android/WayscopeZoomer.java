@@ -1,6 +1,5 @@
 package waymaker.top.android; // Copyright © 2016 Michael Allan.  Licence MIT.
 
-import android.os.Parcel;
 import waymaker.gen.*;
 
 import static waymaker.top.android.WayscopeZoom.POLL;
@@ -88,8 +87,8 @@ public @ThreadRestricted("app main") final class WayscopeZoomer
 
         static { stators.add( new Stator<WayscopeZoomer>()
         {
-            public void save( final WayscopeZoomer z, final Parcel out ) { out.writeString( z.zoom.name() ); }
-            public void restore( final WayscopeZoomer z, final Parcel in )
+            public void save( final WayscopeZoomer z, final StateOut out ) { out.writeString( z.zoom.name() ); }
+            public void restore( final WayscopeZoomer z, final StateIn in )
             {
                 z.zoom = WayscopeZoom.valueOf( in.readString() );
             }